@@ -0,0 +1,40 @@
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Main Class for the Minipoly benchmarks.
+ * <p>
+ * This runs the JMH benchmarks of the model and controller hot paths with the
+ * GC profiler attached, so that every report includes the bytes allocated per
+ * operation alongside its time, and writes the results to
+ * <code>jmh-result.json</code>. Any standard JMH command line options may be
+ * given, such as a benchmark name pattern to run only some benchmarks.
+ *
+ * @author Marcus Lowndes
+ */
+public class BenchmarkMain {
+
+    /**
+     * @param args the JMH command line options
+     * @throws RunnerException if a benchmark fails to run
+     * @throws CommandLineOptionException if the options are invalid
+     */
+    public static void main(String[] args)
+            throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-result.json")
+                .build();
+
+        new Runner(options).run();
+    }
+}
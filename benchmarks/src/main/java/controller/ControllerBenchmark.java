@@ -0,0 +1,59 @@
+package controller;
+
+import java.util.concurrent.TimeUnit;
+import model.BoardState;
+import model.Model;
+import model.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * JMH benchmarks of the Controller's position lookups, measured on a fresh
+ * board, a board in the middle of a game and a board on which every property
+ * is owned.
+ *
+ * @author Marcus Lowndes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ControllerBenchmark {
+
+    @Param({"FRESH", "MID_GAME", "FULLY_OWNED"})
+    public BoardState boardState;
+
+    private Controller controller;
+    private int size;
+    private int number;
+
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        Model model = boardState.build();
+        controller = new Controller(model);
+        size = model.getBoard().size();
+        number = 0;
+    }
+
+
+    /** A position lookup, cycling through every position number. */
+    @Benchmark
+    public Position getPosition(){
+        number = (number % size) + 1;
+        return controller.getPosition(number);
+    }
+}
@@ -0,0 +1,52 @@
+package model;
+
+
+/**
+ * The states of the game board that the benchmarks are measured in, from a
+ * freshly constructed game to a game in which every property has been bought.
+ * <p>
+ * The benchmarks live in the <code>model</code> package so that boards can be
+ * set up directly through <code>Position.buy</code> and
+ * <code>Position.improve</code>, without playing a game to reach them.
+ *
+ * @author Marcus Lowndes
+ */
+public enum BoardState {
+    /** No property has been bought. */
+    FRESH,
+
+    /** Half of the roads have been bought, split between the players. */
+    MID_GAME,
+
+    /** Every road has been bought, split between the players, and every
+     *  property has two houses built on it. */
+    FULLY_OWNED;
+
+
+    /** @return a new game in this state, with Player 1 to move next */
+    public Model build(){
+        Model model = new Model();
+        int roads = (this == FRESH) ? 0 : (this == MID_GAME) ? 4 : 8;
+
+        for (Position p : model.getBoard()) {
+            if (!p.isProperty() || p.getRoad() - 'A' >= roads)
+                continue;
+
+            Player owner = ((p.getRoad() - 'A') % 2 == 0) ?
+                    model.getPlayerOne() : model.getPlayerTwo();
+            p.buy(owner);
+        }
+
+        if (this == FULLY_OWNED)
+            for (Position p : model.getBoard())
+                if (p.isProperty()) {
+                    p.improve(p.getOwner());
+                    p.improve(p.getOwner());
+                }
+
+        // give both players enough money to keep playing
+        model.getPlayerOne().setMoney(1000000);
+        model.getPlayerTwo().setMoney(1000000);
+        return model;
+    }
+}
@@ -0,0 +1,68 @@
+package model;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * JMH benchmarks of a bare turn of games played back to back, with the
+ * ModelMetrics recorder on and with it turned off by
+ * <code>-Dminipoly.metrics=false</code>, so that the difference is the cost
+ * of recording a turn. Each turn buys the property landed on if it can, and
+ * a game that has ended is reset, so that the end of every game is recorded
+ * too.
+ *
+ * @author Marcus Lowndes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MetricsBenchmark {
+
+    private Model model;
+    private int roll;
+
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        model = new Model(new Dice(2021));
+        roll = 0;
+    }
+
+
+    private TurnEvent turn(){
+        roll = (roll % 12) + 1;
+        TurnEvent move = model.nextTurn(roll);
+        if (model.isCurrentPosnBuyable())
+            model.interactCurrentPrpt();
+        if (model.isGameOver())
+            model.reset();
+        return move;
+    }
+
+
+    @Benchmark
+    public TurnEvent turnWithMetrics(){
+        return turn();
+    }
+
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dminipoly.metrics=false")
+    public TurnEvent turnWithoutMetrics(){
+        return turn();
+    }
+}
@@ -0,0 +1,125 @@
+package model;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * JMH benchmarks of the Model's hot paths, measured on a fresh board, a board
+ * in the middle of a game and a board on which every property is owned.
+ *
+ * @author Marcus Lowndes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ModelBenchmark {
+
+    @Param({"FRESH", "MID_GAME", "FULLY_OWNED"})
+    public BoardState boardState;
+
+    private Model model;
+    private int roll;
+    private final StringBuilder buffer = new StringBuilder();
+
+    /** For each player and position index, a roll that lands the player on
+     *  a property owned by their opponent, or 0 if there is none. */
+    private int[][] rentRolls;
+
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        model = boardState.build();
+        roll = 0;
+
+        int size = model.getBoard().size();
+        rentRolls = new int[2][size];
+        for (int player=0; player<2; player++)
+            for (int i=0; i<size; i++)
+                for (int r=1; r<13 && rentRolls[player][i] == 0; r++) {
+                    Position p = model.getBoard().get((i + r) % size);
+                    if (p.getOwner() != null
+                            && p.getOwner().isPlayerOne() != (player == 0))
+                        rentRolls[player][i] = r;
+                }
+    }
+
+
+    /** A full turn, cycling through every roll of the dice. */
+    @Benchmark
+    public TurnEvent nextTurn(){
+        roll = (roll % 12) + 1;
+        return model.nextTurn(roll);
+    }
+
+
+    /**
+     * A full turn in which the player always lands on a property owned by
+     * their opponent, so that <code>Model.calculateRent</code> is charged.
+     * On a fresh board no property is owned, so no rent is ever charged.
+     */
+    @Benchmark
+    public TurnEvent landOnOwnedProperty(){
+        Player mover = model.isFirstTurn() ? model.getCurrentPlayer()
+                : (model.getCurrentPlayer() == model.getPlayerOne()) ?
+                        model.getPlayerTwo() : model.getPlayerOne();
+        int index = mover.getPosition().getNumber() - 1;
+        int r = rentRolls[mover.isPlayerOne() ? 0 : 1][index];
+        return model.nextTurn(r == 0 ? 1 : r);
+    }
+
+
+    @Benchmark
+    public String modelToString(){
+        return model.toString();
+    }
+
+
+    /** Rendering the board into a buffer that is reused between renders. */
+    @Benchmark
+    public StringBuilder modelAppendTo(){
+        buffer.setLength(0);
+        return model.appendTo(buffer);
+    }
+
+
+    /** Measures <code>Model.interactCurrentPrpt</code> on a board that is
+     *  rebuilt before every invocation, so that there is always a property
+     *  to buy or improve. */
+    @State(Scope.Thread)
+    public static class InteractState {
+        @Param({"FRESH", "MID_GAME", "FULLY_OWNED"})
+        public BoardState boardState;
+
+        private Model model;
+
+        @Setup(Level.Invocation)
+        public void setUp(){
+            model = boardState.build();
+
+            // move Player 1 onto A1, which is buyable on a fresh board and
+            // improvable once Player 1 owns road A
+            model.nextTurn(1);
+        }
+    }
+
+
+    @Benchmark
+    public TurnEvent interactCurrentPrpt(InteractState state){
+        return state.model.interactCurrentPrpt();
+    }
+}
@@ -0,0 +1,64 @@
+package model;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * JMH benchmarks of the Player's hot paths, measured on a fresh board, a
+ * board in the middle of a game and a board on which every property is owned.
+ *
+ * @author Marcus Lowndes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayerBenchmark {
+
+    @Param({"FRESH", "MID_GAME", "FULLY_OWNED"})
+    public BoardState boardState;
+
+    private Model model;
+    private Player player;
+    private int roll;
+    private char road;
+
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        model = boardState.build();
+        player = model.getPlayerOne();
+        roll = 0;
+        road = 'A';
+    }
+
+
+    /** A move of the player, cycling through every roll of the dice. */
+    @Benchmark
+    public Position move(){
+        roll = (roll % 12) + 1;
+        return player.move(roll);
+    }
+
+
+    /** A set-completion query, cycling through every road. */
+    @Benchmark
+    public boolean ownsAllPrptsOnRoad(){
+        road = (road == 'H') ? 'A' : (char) (road + 1);
+        return player.ownsAllPrptsOnRoad(road);
+    }
+}
@@ -0,0 +1,65 @@
+package model;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * JMH benchmarks of playing whole games back to back, either constructing a
+ * new Model for every game or reusing games from a ModelPool. The GC profiler
+ * shows the garbage created per game by each.
+ *
+ * @author Marcus Lowndes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PoolBenchmark {
+    private static final int MAX_TURNS = 10000;
+
+    private ModelPool pool;
+
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        pool = new ModelPool(1);
+    }
+
+
+    /** Play a game to its end, buying and improving whenever possible. */
+    private static Model play(Model model){
+        for (int t=0; t<MAX_TURNS && !model.isGameOver(); t++) {
+            model.nextTurn();
+            if (model.isCurrentPosnBuyable() || model.isCurrentPosnImprovable())
+                model.interactCurrentPrpt();
+        }
+        return model;
+    }
+
+
+    @Benchmark
+    public Model newModelPerGame(){
+        return play(new Model());
+    }
+
+
+    @Benchmark
+    public Model pooledModelPerGame(){
+        Model model = play(pool.acquire());
+        pool.release(model);
+        return model;
+    }
+}
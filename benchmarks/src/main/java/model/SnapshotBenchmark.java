@@ -0,0 +1,65 @@
+package model;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * JMH benchmarks of saving and restoring a game with GameSnapshot, measured
+ * on a fresh board, a board in the middle of a game and a board on which
+ * every property is owned.
+ *
+ * @author Marcus Lowndes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SnapshotBenchmark {
+
+    @Param({"FRESH", "MID_GAME", "FULLY_OWNED"})
+    public BoardState boardState;
+
+    private Model model;
+    private Model restored;
+    private ByteBuffer buffer;
+
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        model = boardState.build();
+        restored = new Model();
+        buffer = ByteBuffer.allocateDirect(GameSnapshot.sizeOf(model));
+        GameSnapshot.write(model, buffer);
+    }
+
+
+    @Benchmark
+    public ByteBuffer write(){
+        buffer.clear();
+        GameSnapshot.write(model, buffer);
+        return buffer;
+    }
+
+
+    @Benchmark
+    public Model read(){
+        buffer.rewind();
+        GameSnapshot.read(buffer, restored);
+        return restored;
+    }
+}
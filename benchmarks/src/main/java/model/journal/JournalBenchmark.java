@@ -0,0 +1,69 @@
+package model.journal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.concurrent.TimeUnit;
+import model.BoardState;
+import model.Model;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * JMH benchmark of replaying a recorded game of 1,000 turns with
+ * JournalReplay.
+ *
+ * @author Marcus Lowndes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JournalBenchmark {
+    private static final int TURNS = 1000;
+
+    private byte[] journal;
+    private Model model;
+
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // the players start rich enough that the game lasts every turn
+        Model recorded = BoardState.FRESH.build();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JournalWriter writer = new JournalWriter();
+             GameJournal j = new GameJournal(recorded,
+                     Channels.newChannel(bytes), writer)) {
+            for (int t=0; t<TURNS; t++) {
+                recorded.nextTurn();
+                if (recorded.isCurrentPosnBuyable()
+                        || recorded.isCurrentPosnImprovable())
+                    recorded.interactCurrentPrpt();
+            }
+            j.flush();
+        }
+
+        journal = bytes.toByteArray();
+        model = new Model();
+    }
+
+
+    @Benchmark
+    public Model replay(){
+        JournalReplay.replay(ByteBuffer.wrap(journal), model, TURNS);
+        return model;
+    }
+}
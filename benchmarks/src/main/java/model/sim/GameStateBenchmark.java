@@ -0,0 +1,67 @@
+package model.sim;
+
+import java.util.concurrent.TimeUnit;
+import model.BoardState;
+import model.Model;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * JMH benchmarks of copying a GameState, and of applying and undoing a
+ * move, measured on a fresh board, a board in the middle of a game and a
+ * board on which every property is owned.
+ *
+ * @author Marcus Lowndes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameStateBenchmark {
+
+    @Param({"FRESH", "MID_GAME", "FULLY_OWNED"})
+    public BoardState boardState;
+
+    private GameState state;
+    private GameState copy;
+    private int roll;
+
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        Model model = boardState.build();
+        state = GameState.of(model, SimBoard.of(model.getBoard()));
+        copy = state.copy();
+        roll = 0;
+    }
+
+
+    @Benchmark
+    public GameState copyFrom(){
+        copy.copyFrom(state);
+        return copy;
+    }
+
+
+    /** A turn applied and undone, cycling through every roll of the dice. */
+    @Benchmark
+    public GameState applyTurnAndUndo(){
+        roll = (roll % 12) + 1;
+        state.applyTurn(roll);
+        state.undo();
+        return state;
+    }
+}
@@ -1,5 +1,11 @@
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.Scanner;
+import controller.Controller;
+import model.DiceRoller;
 import model.Model;
+import model.sim.SearchPlayer;
 
 
 /**
@@ -21,16 +27,31 @@ public class CLIMain{
     private static Model model;
     private static Scanner scan;
     private static boolean cheatMode;
+    private static Controller controller;
+    private static final StringBuilder screen = new StringBuilder();
+    private static final Writer console = new OutputStreamWriter(System.out);
+    private static char[] screenChars = new char[0];
     private static final String
             LINE = "-------------------------------------------------------\n",
             INVALID_INPUT = "\nPlease enter a valid input.\n";
 
 
-    /** @param args the command line arguments */
+    /** @param args the command line arguments. An optional seed may be
+     *             given, to play a game with a reproducible dice sequence */
     public static void main(String [] args){
         scan = new Scanner(System.in);
-        model = new Model();
+        try {
+            model = (args.length > 0) ?
+                    new Model(DiceRoller.seeded(Long.parseLong(args[0])))
+                    : new Model();
+        } catch (NumberFormatException e) {
+            System.out.println("The seed must be a whole number.");
+            return;
+        }
+        controller = new Controller(model);
         cheatMode = cheatModeDialog();
+        if (computerDialog())
+            controller.setComputerOpponent(new SearchPlayer());
 
         System.out.println(titleToString() + "\nProgrammed by Marcus Lowndes,"
                 + " designed by Dr Ian Bayley\n" + LINE);
@@ -39,10 +60,12 @@ public class CLIMain{
         // main game loop
         while (!quitGame) {
             // display game board and dynamically display controls
-            System.out.print(model.toString() + "\n" + LINE
-                    + playersMoneyToString() + "\nIt is now "
-                    + model.getCurrentPlayer().toString() + "'s turn.\n"
-                    + controlsToString() + "\n >> ");
+            screen.setLength(0);
+            model.appendTo(screen).append("\n").append(LINE)
+                    .append(playersMoneyToString()).append("\nIt is now ")
+                    .append(model.getCurrentPlayer().toString()).append("'s turn.\n")
+                    .append(controlsToString()).append("\n >> ");
+            printScreen();
 
             // take user input
             switch (scan.nextLine()) {
@@ -53,7 +76,8 @@ public class CLIMain{
 
                 // 1 initiates the next turn
                 case "1":
-                    System.out.println(LINE + "\n" + model.nextTurn() + "\n");
+                    System.out.println(LINE + "\n" + model.nextTurn()
+                            + controller.computerTurn() + "\n");
                     break;
 
                 // 2 buys or improves a property if possible, otherwise is disabled
@@ -73,7 +97,10 @@ public class CLIMain{
 
             // end the game if the model says so
             if (model.isGameOver()) {
-                System.out.println(model.toString() + "\n" + gameOverToString());
+                screen.setLength(0);
+                model.appendTo(screen).append("\n").append(gameOverToString())
+                        .append('\n');
+                printScreen();
                 quitGame = true;
             }
         }
@@ -81,6 +108,26 @@ public class CLIMain{
     }
 
 
+    /**
+     * Print the screen buffer. The buffer is copied into an array that is
+     * reused between redraws and written straight to the console, rather
+     * than being turned into a new String every time.
+     */
+    private static void printScreen(){
+        int length = screen.length();
+        if (screenChars.length < length)
+            screenChars = new char[length];
+        screen.getChars(0, length, screenChars, 0);
+
+        try {
+            console.write(screenChars, 0, length);
+            console.flush();
+        } catch (IOException e) {
+            // like System.out itself, carry on if the console has gone
+        }
+    }
+
+
     /**
      * Allow user to enable cheat mode. Asks if the user would like to enable
      * cheat mode and takes the user's next input.
@@ -113,6 +160,39 @@ public class CLIMain{
     }
 
 
+    /**
+     * Allow user to play against the computer. Asks if the user would like
+     * the computer to play Player 2 and takes the user's next input.
+     *
+     * @return  true if the user inputs 'yes' to play against the computer,
+     *          returns false if the user inputs 'no', otherwise asks the user
+     *          to try again.
+     */
+    private static boolean computerDialog(){
+        boolean computerConf = false;
+        while(!computerConf) {
+            System.out.print("Play against the computer?\n\nThe computer will"
+                    + " play Player 2, deciding whether\nto buy or improve each"
+                    + " property it lands on. Y/N: ");
+
+            switch(scan.nextLine()){
+                case "Y": case "y": case "yes": case "Yes": case "YES":
+                    System.out.println("\n" + LINE);
+                    return true;
+
+                case "N": case "n": case "no": case "No": case "NO":
+                    System.out.println("\n" + LINE);
+                    computerConf = true;
+                    break;
+
+                default:
+                    System.out.println(INVALID_INPUT + "\n" + LINE);
+            }
+        }
+        return false;
+    }
+
+
     /**
      * A String representation of the controls to the Minipoly game that are
      * available to the user. Controls to buy/improve/cheat the game are
@@ -127,9 +207,9 @@ public class CLIMain{
                 controls3 = "    3: Choose dice roll\n       for next turn.\n";
 
         String controls = controls1;
-        if (model.isCurrentPosnBuyable())
+        if (canInteract() && model.isCurrentPosnBuyable())
             controls += two + buy + controls2;
-        if (model.isCurrentPosnImprovable())
+        if (canInteract() && model.isCurrentPosnImprovable())
             controls += two + improve + controls2;
         if (cheatMode)
             controls += controls3;
@@ -172,18 +252,28 @@ public class CLIMain{
      * If the property is buyable or can be improved, and the position has no
      * hotel built on it, it will be interacted with, otherwise the user's
      * input will be treated as invalid. This option is not presented to the
-     * user if the property cannot be interacted with.
+     * user if the property cannot be interacted with, or if the current
+     * player is the computer.
      *
      * @return  a String representation of the property being interacted with,
      *          if it can be interacted with. Else, "invalid input" will be
      *          returned
      */
     private static String interactCurrentPosn(){
-        return (model.isCurrentPosnImprovable() || model.isCurrentPosnBuyable()) ?
+        return canInteract() ?
                 ("\n" + model.interactCurrentPrpt() + "\n") : INVALID_INPUT;
     }
 
 
+    /** @return true if the user may buy or improve the current player's
+     *          position: it is buyable or improvable, and the current player
+     *          is not the computer, who has already decided against it */
+    private static boolean canInteract(){
+        return !controller.isComputerTurn() && (model.isCurrentPosnImprovable()
+                || model.isCurrentPosnBuyable());
+    }
+
+
     /**
      * Initiates the next turn of the model with a user-inputted roll of the dice.
      * If cheat mode is enabled, allows the user to input a number to specify the
@@ -202,7 +292,7 @@ public class CLIMain{
                 case "11": case "12":
                     System.out.println(LINE + "\n"
                             + model.nextTurn(Integer.parseInt(rollInput))
-                            + "\n");
+                            + controller.computerTurn() + "\n");
                     validDiceRoll = true;
                     break;
 
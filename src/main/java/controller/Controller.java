@@ -4,6 +4,7 @@ package controller;
 import model.Model;
 import model.Player;
 import model.Position;
+import model.sim.SearchPlayer;
 import view.View;
 
 
@@ -28,6 +29,8 @@ import view.View;
 public class Controller {
     private Model model;
     private View view;
+    private final Position[] positions;
+    private SearchPlayer computer;
 
     /** Describes the state of a board position. */
     public enum posnState{
@@ -41,6 +44,13 @@ public class Controller {
     }
 
 
+    /** @param  computer    the computer opponent who plays Player Two, or
+     *                      null if Player Two is played by a person */
+    public void setComputerOpponent(SearchPlayer computer){
+        this.computer = computer;
+    }
+
+
     /**
      * Construct a Controller object.
      *
@@ -49,6 +59,15 @@ public class Controller {
      */
     public Controller(Model model){
         this.model = model;
+
+        // index every position by its number, for constant-time lookups
+        int maxNumber = 0;
+        for (Position p : model.getBoard())
+            maxNumber = Math.max(maxNumber, p.getNumber());
+
+        positions = new Position[maxNumber + 1];
+        for (Position p : model.getBoard())
+            positions[p.getNumber()] = p;
     }
 
 
@@ -60,7 +79,7 @@ public class Controller {
      * @return a String representation of the move and any rent calculated
      */
     public String nextTurn(){
-        return model.nextTurn();
+        return model.nextTurn().toString();
     }
 
 
@@ -76,29 +95,94 @@ public class Controller {
     public String cheatNextTurn(String roll){
         int diceRoll = Integer.parseInt(roll);
         return (diceRoll > 0 && diceRoll < 13) ?
-                model.nextTurn(diceRoll) : "Invalid roll.";
+                model.nextTurn(diceRoll).toString() : "Invalid roll.";
+    }
+
+
+    /**
+     * If Player Two is the computer opponent and has just moved, let them
+     * buy and improve their position for as long as they decide to. This
+     * blocks while the computer decides, so the View instead calls
+     * <code>computerDecides</code> and <code>computerInteract</code> itself.
+     *
+     * @return  a String representation of each action the computer took,
+     *          each on a new line, or an empty String if it took none
+     */
+    public String computerTurn(){
+        StringBuilder sb = new StringBuilder();
+        while (computerDecides())
+            sb.append("\n").append(computerInteract());
+        return sb.toString();
+    }
+
+
+    /**
+     * Decide whether the computer opponent should buy or improve their
+     * position. The search blocks for about
+     * <code>SearchPlayer.DEFAULT_BUDGET_MILLIS</code>, so it may be called
+     * from another thread, provided the game is not changed until it returns.
+     *
+     * @return  true if it is the computer's turn, and it decides to take the
+     *          action on its position
+     */
+    public boolean computerDecides(){
+        return isComputerTurn() && computer.shouldInteract(model);
+    }
+
+
+    /**
+     * The computer opponent takes the action it decided on.
+     *
+     * @pre     <code>computerDecides</code> has just returned true
+     * @return  a String representation of the action taken
+     */
+    public String computerInteract(){
+        assert (isComputerTurn()) : "It is not the computer's turn.";
+        return model.interactCurrentPrpt().toString();
     }
 
 
     /**
      * The current player will take an action on a position.
      * This could be a buy action or an improve action,
-     * depending on the state of the model.
+     * depending on the state of the model. The user cannot act for the
+     * computer opponent.
      *
-     * @return a String representation of the action taken
+     * @return a String representation of the action taken, or of why no
+     *         action was taken
      */
     public String interact(){
-        return model.interactCurrentPrpt();
+        if (isComputerTurn())
+            return "It is the computer's turn.";
+        return model.interactCurrentPrpt().toString();
+    }
+
+
+    /** @return true if the current player is the computer opponent, who
+     *          makes their own decisions */
+    public boolean isComputerTurn(){
+        return computer != null && model.getCurrentPlayer() == model.getPlayerTwo();
     }
 
 
     /**
      * @param   id  the view's position pane ID
      * @param   num the model's position number
-     * @return  true if the ID number is the same as the position's number
+     * @return  true if the ID is the position's number. An ID that is not
+     *          a number is never a position
      */
     public boolean isPosn(String id, int num){
-        return id.equals(String.valueOf(num));
+        return String.valueOf(num).equals(id);
+    }
+
+
+    /**
+     * @param   id  the view's position node ID, as a number
+     * @param   num the model's position number
+     * @return  true if the ID number is the same as the position's number
+     */
+    public boolean isPosn(int id, int num){
+        return id == num;
     }
 
 
@@ -106,7 +190,7 @@ public class Controller {
      * @param   id          the view's position pane ID
      * @param   isPlayerOne true if the player is Player One,
      *                      false if it's Player Two
-     * @return  true if the ID number is the same as the position's number
+     * @return  true if the ID is the number of the player's position
      */
     public boolean isPlayerOnPosn(String id, boolean isPlayerOne){
         Player p = isPlayerOne ? model.getPlayerOne()
@@ -116,10 +200,28 @@ public class Controller {
     }
 
 
+    /**
+     * @param   id          the view's position node ID, as a number
+     * @param   isPlayerOne true if the player is Player One,
+     *                      false if it's Player Two
+     * @return  true if the ID number is the same as the position's number
+     */
+    public boolean isPlayerOnPosn(int id, boolean isPlayerOne){
+        Player p = isPlayerOne ? model.getPlayerOne()
+                               : model.getPlayerTwo();
+
+        return isPosn(id, p.getPosition().getNumber());
+    }
+
+
     /** @return the state of the position as a <code>posnState</code>
      *          enumerator instance */
     public posnState getCurrentPosnState(){
-        if (model.isCurrentPosnBuyable())
+        // the computer opponent has already decided what to do here
+        if (isComputerTurn())
+            return posnState.NONE;
+
+        else if (model.isCurrentPosnBuyable())
             return posnState.BUYABLE;
 
         else if (model.isCurrentPosnImprovable())
@@ -132,14 +234,17 @@ public class Controller {
 
     /**
      * @param   i   a position number
-     * @return  the Position with the specified number
+     * @return  the Position with the specified number, or null if there is
+     *          no position with that number
      */
     public Position getPosition(int i){
-        for (Position p : model.getBoard())
-            if (p.getNumber() == i)
-                return p;
+        return (i >= 0 && i < positions.length) ? positions[i] : null;
+    }
+
 
-        return null;
+    /** @return the number of positions on the board */
+    public int getBoardSize(){
+        return model.getBoard().size();
     }
 
 }
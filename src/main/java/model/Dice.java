@@ -0,0 +1,73 @@
+package model;
+
+import java.util.SplittableRandom;
+
+
+/**
+ * The Dice class simulates the roll of two six-sided dice, and is the
+ * <code>DiceRoller</code> used by a Model unless another is supplied.
+ * <p>
+ * The dice are driven by a SplitMix64 generator, whose entire state is a
+ * single <code>long</code>. The generator is counter-based: its state only
+ * advances by a constant for each roll, and each roll is a mix of the state,
+ * so no synchronization is involved. The state can be read and restored, so
+ * that a saved game continues with exactly the same rolls once it is loaded,
+ * and two dice with the same seed always roll the same sequence. The dice
+ * are not thread-safe and should not be shared between games on different
+ * threads.
+ *
+ * @author Marcus Lowndes
+ */
+public final class Dice implements DiceRoller {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    /** @return the state of the generator, which determines every
+     *          following roll */
+    @Override
+    public long getState() {
+        return state;
+    }
+
+    /** @param  state   a state previously returned by <code>getState</code> */
+    @Override
+    public void setState(long state) {
+        this.state = state;
+    }
+
+
+    /** Construct a pair of dice with an unpredictable seed. */
+    public Dice(){
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Construct a pair of dice which roll a sequence determined entirely
+     * by a seed.
+     *
+     * @param   seed    the seed
+     */
+    public Dice(long seed){
+        state = seed;
+    }
+
+
+    /**
+     * Roll both dice. Both dice are taken from a single 64-bit output of
+     * the generator, one from each half.
+     *
+     * @return  the total of the two dice, in the range of 2-12
+     */
+    @Override
+    public int roll(){
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+
+        int first = (int) (((z >>> 32) * 6) >>> 32);
+        int second = (int) (((z & 0xFFFFFFFFL) * 6) >>> 32);
+        return first + second + 2;
+    }
+}
@@ -0,0 +1,68 @@
+package model;
+
+import java.util.SplittableRandom;
+
+
+/**
+ * A source of dice rolls for a Minipoly game Model.
+ * <p>
+ * Each game owns its own roller, and rollers are not expected to be
+ * thread-safe, so games played in parallel never contend for a shared
+ * generator. A roller whose whole state is a single <code>long</code>, such
+ * as <code>Dice</code>, exposes that state so that a saved game continues
+ * with exactly the same rolls once it is restored. Other rollers keep the
+ * default methods, and a game restored with one of them continues with
+ * different rolls.
+ *
+ * @author Marcus Lowndes
+ */
+public interface DiceRoller {
+
+    /**
+     * Roll two six-sided dice.
+     *
+     * @return  the total of the two dice, in the range of 2-12
+     */
+    int roll();
+
+
+    /** @return the state of the roller, which determines every following
+     *          roll, or 0 if its state cannot be captured */
+    default long getState() {
+        return 0;
+    }
+
+
+    /** @param  state   a state previously returned by <code>getState</code>,
+     *                  which is ignored if the state cannot be captured */
+    default void setState(long state) {
+    }
+
+
+    /** @return a roller with an unpredictable seed */
+    static DiceRoller random(){
+        return new Dice();
+    }
+
+
+    /**
+     * @param   seed    the seed
+     * @return  a roller whose rolls are determined entirely by the seed
+     */
+    static DiceRoller seeded(long seed){
+        return new Dice(seed);
+    }
+
+
+    /**
+     * Roll with a generator owned by the caller, such as one split from
+     * another generator for each of a number of games played in parallel.
+     * The generator's state cannot be captured.
+     *
+     * @param   rng     the generator, which must not be shared between threads
+     * @return  a roller that rolls two dice with the generator
+     */
+    static DiceRoller of(SplittableRandom rng){
+        return () -> rng.nextInt(1, 7) + rng.nextInt(1, 7);
+    }
+}
@@ -0,0 +1,226 @@
+package model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ * The FlightEvents class emits the activity of every Minipoly game Model as
+ * Java Flight Recorder events, so that turns, rent, purchases, improvements
+ * and the end of each game can be lined up with garbage collection pauses
+ * and CPU samples in a recording.
+ * <p>
+ * The events are off unless the JVM is started with
+ * <code>-Dminipoly.jfr=true</code>. <code>ENABLED</code> is a constant, so
+ * when the events are off the calls guarded by it are removed when the
+ * calling code is compiled, and no event is ever created. When the events
+ * are on, an event is only created, filled in and committed while a
+ * recording has it enabled, such as one started with
+ * <code>-XX:StartFlightRecording</code>; each event type can be switched off
+ * in the recording's settings under its name, such as
+ * <code>minipoly.Turn#enabled=false</code>. No stack traces are taken.
+ *
+ * @author Marcus Lowndes
+ */
+final class FlightEvents {
+    /** True if the JVM was started with <code>-Dminipoly.jfr=true</code>. */
+    static final boolean ENABLED = Boolean.getBoolean("minipoly.jfr");
+
+    private static final EventType TURN = EventType.getEventType(Turn.class);
+    private static final EventType RENT = EventType.getEventType(Rent.class);
+    private static final EventType PURCHASE =
+            EventType.getEventType(Purchase.class);
+    private static final EventType IMPROVEMENT =
+            EventType.getEventType(Improvement.class);
+    private static final EventType GAME_COMPLETED =
+            EventType.getEventType(GameCompleted.class);
+
+    private FlightEvents(){
+    }
+
+
+    /** @return the number of a player: 1 or 2 */
+    private static int number(Player player){
+        return player.isPlayerOne() ? 1 : 2;
+    }
+
+
+    /** @param  move    the move made during a turn */
+    static void turn(TurnEvent move){
+        if (!TURN.isEnabled())
+            return;
+        Turn event = new Turn();
+        event.player = number(move.getPlayer());
+        event.roll = move.getRoll();
+        event.from = move.getFrom();
+        event.to = move.getTo();
+        event.jailed = move.isJailed();
+        event.commit();
+    }
+
+
+    /** @param  move    a move during which rent was paid */
+    static void rent(TurnEvent move){
+        if (!RENT.isEnabled())
+            return;
+        Rent event = new Rent();
+        event.payer = number(move.getPlayer());
+        event.payee = number(move.getPayee());
+        event.position = move.getTo();
+        event.amount = move.getRent();
+        event.payerMoney = move.getPlayer().getMoney();
+        event.commit();
+    }
+
+
+    /** @param  action  a property being bought or improved */
+    static void action(TurnEvent action){
+        if (action.getType() == TurnEvent.Type.BUY) {
+            if (!PURCHASE.isEnabled())
+                return;
+            Purchase event = new Purchase();
+            event.player = number(action.getPlayer());
+            event.position = action.getTo();
+            event.property = action.getPosition().nameToString();
+            event.cost = action.getCost();
+            event.commit();
+        }
+        else {
+            if (!IMPROVEMENT.isEnabled())
+                return;
+            Improvement event = new Improvement();
+            event.player = number(action.getPlayer());
+            event.position = action.getTo();
+            event.property = action.getPosition().nameToString();
+            event.cost = action.getCost();
+            event.hotel = action.isHotel();
+            event.commit();
+        }
+    }
+
+
+    /**
+     * @param   last    the move or action that ended the game
+     * @param   turns   the number of turns the game lasted
+     */
+    static void gameOver(TurnEvent last, long turns){
+        if (!GAME_COMPLETED.isEnabled())
+            return;
+        GameCompleted event = new GameCompleted();
+        event.loser = number(last.getPlayer());
+        event.turns = turns;
+        event.commit();
+    }
+
+
+    @Name("minipoly.Turn")
+    @Label("Turn")
+    @Category("Minipoly")
+    @Description("A player rolling the dice and moving")
+    @StackTrace(false)
+    static final class Turn extends Event {
+        @Label("Player")
+        int player;
+
+        @Label("Roll")
+        int roll;
+
+        @Label("From")
+        @Description("The number of the position moved from")
+        int from;
+
+        @Label("To")
+        @Description("The number of the position the move ended on")
+        int to;
+
+        @Label("Jailed")
+        @Description("True if the player landed on JAIL and was sent to GO")
+        boolean jailed;
+    }
+
+
+    @Name("minipoly.Rent")
+    @Label("Rent")
+    @Category("Minipoly")
+    @Description("A player paying rent to the owner of a property")
+    @StackTrace(false)
+    static final class Rent extends Event {
+        @Label("Payer")
+        int payer;
+
+        @Label("Payee")
+        int payee;
+
+        @Label("Position")
+        int position;
+
+        @Label("Amount")
+        double amount;
+
+        @Label("Payer's Money")
+        @Description("The money the payer has left")
+        double payerMoney;
+    }
+
+
+    @Name("minipoly.Purchase")
+    @Label("Purchase")
+    @Category("Minipoly")
+    @Description("A player buying a property")
+    @StackTrace(false)
+    static final class Purchase extends Event {
+        @Label("Player")
+        int player;
+
+        @Label("Position")
+        int position;
+
+        @Label("Property")
+        String property;
+
+        @Label("Cost")
+        double cost;
+    }
+
+
+    @Name("minipoly.Improvement")
+    @Label("Improvement")
+    @Category("Minipoly")
+    @Description("A player building a house or hotel on a property")
+    @StackTrace(false)
+    static final class Improvement extends Event {
+        @Label("Player")
+        int player;
+
+        @Label("Position")
+        int position;
+
+        @Label("Property")
+        String property;
+
+        @Label("Cost")
+        double cost;
+
+        @Label("Hotel")
+        boolean hotel;
+    }
+
+
+    @Name("minipoly.GameCompleted")
+    @Label("Game Completed")
+    @Category("Minipoly")
+    @Description("A player running out of money, ending the game")
+    @StackTrace(false)
+    static final class GameCompleted extends Event {
+        @Label("Loser")
+        int loser;
+
+        @Label("Turns")
+        long turns;
+    }
+}
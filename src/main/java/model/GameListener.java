@@ -0,0 +1,64 @@
+package model;
+
+
+/**
+ * A listener to the changes made to a Minipoly game Model.
+ * <p>
+ * Each kind of change has its own method, describing exactly what changed, so
+ * that a listener such as a view only needs to refresh what is affected.
+ * Every method does nothing by default, so a listener only implements the
+ * changes it is interested in. Listeners are called on the thread that
+ * changed the Model, in the order in which they were added.
+ *
+ * @author Marcus Lowndes
+ */
+public interface GameListener {
+
+    /**
+     * A player has moved during a turn.
+     *
+     * @param   player  the player who moved
+     * @param   roll    the dice roll
+     * @param   from    the number of the position moved from
+     * @param   to      the number of the position the move ended on
+     * @param   jailed  true if the player landed on JAIL and was sent to GO
+     */
+    default void onPlayerMoved(Player player, int roll, int from, int to,
+                               boolean jailed) {
+    }
+
+    /**
+     * A player's money has changed, by paying or being paid rent, or by
+     * buying or improving a property.
+     *
+     * @param   player  the player whose money changed
+     * @param   money   the player's money after the change
+     */
+    default void onMoneyChanged(Player player, double money) {
+    }
+
+    /**
+     * A property has been bought.
+     *
+     * @param   position    the property
+     * @param   owner       the player who now owns the property
+     */
+    default void onOwnershipChanged(Position position, Player owner) {
+    }
+
+    /**
+     * A house or a hotel has been built on a property.
+     *
+     * @param   position    the property that was improved
+     */
+    default void onImprovementAdded(Position position) {
+    }
+
+    /**
+     * A player has run out of money and the game is over.
+     *
+     * @param   winner  the player who won the game
+     */
+    default void onGameOver(Player winner) {
+    }
+}
@@ -0,0 +1,307 @@
+package model;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * The GameSnapshot class saves the complete state of a Minipoly game Model in
+ * a compact binary format, and restores a Model from it without replaying
+ * any of the moves that led to it.
+ * <p>
+ * A snapshot of a standard 40 position board takes 77 bytes, laid out as:
+ * <ul>
+ *      <li>the magic number "MPLY" and the format version</li>
+ *      <li>the number of positions on the board</li>
+ *      <li>one byte per position, holding its owner (0 for none, 1 for
+ *          Player 1 and 2 for Player 2) in bits 0-1, its number of houses
+ *          in bits 2-4 and a hotel in bit 5</li>
+ *      <li>the index of each player's position, and each player's money</li>
+ *      <li>a byte of flags: Player 2 is the current player, it is the first
+ *          turn, and the end of the game has been announced</li>
+ *      <li>the last dice roll, and the state of the dice, if the game's
+ *          <code>DiceRoller</code> can capture it</li>
+ * </ul>
+ * Snapshots can be written to and read from any <code>ByteBuffer</code>, so
+ * that many games can be checkpointed into one buffer, or to a channel. A
+ * batch of games can be saved to and loaded from a memory-mapped file.
+ * Restoring a game does not notify its listeners.
+ *
+ * @author Marcus Lowndes
+ */
+public final class GameSnapshot {
+    /** The magic number at the start of every snapshot, "MPLY". */
+    public static final int MAGIC = 0x4D504C59;
+
+    /** The version of the snapshot format. */
+    public static final byte VERSION = 1;
+
+    private static final int HEADER_BYTES = 4 + 1 + 2;
+    private static final int PLAYER_BYTES = 2 + 8;
+    private static final int TURN_BYTES = 1 + 1 + 8;
+
+    private static final int OWNER_MASK = 0x03;
+    private static final int HOUSES_SHIFT = 2;
+    private static final int HOUSES_MASK = 0x07;
+    private static final int HOTEL_BIT = 0x20;
+
+    private static final int PLAYER_TWO_CURRENT = 0x01;
+    private static final int FIRST_TURN = 0x02;
+    private static final int GAME_OVER_NOTIFIED = 0x04;
+
+    private GameSnapshot(){
+    }
+
+
+    /**
+     * @param   model   a game
+     * @return  the number of bytes in a snapshot of the game
+     */
+    public static int sizeOf(Model model){
+        return HEADER_BYTES + model.getBoard().size() + 2 * PLAYER_BYTES
+                + TURN_BYTES;
+    }
+
+
+    /**
+     * Write a snapshot of a game to a buffer, at its current position.
+     *
+     * @param   model   the game to save
+     * @param   buf     the buffer to write to, which must have at least
+     *                  <code>sizeOf(model)</code> bytes remaining
+     */
+    public static void write(Model model, ByteBuffer buf){
+        List<Position> board = model.getBoard();
+        Player playerOne = model.getPlayerOne();
+
+        buf.putInt(MAGIC).put(VERSION).putShort((short) board.size());
+
+        for (Position p : board) {
+            int b = (p.getOwner() == null) ? 0 : (p.getOwner() == playerOne) ? 1 : 2;
+            b |= (int) p.getImprovements() << HOUSES_SHIFT;
+            if (p.isHotel())
+                b |= HOTEL_BIT;
+            buf.put((byte) b);
+        }
+
+        writePlayer(model.getPlayerOne(), buf);
+        writePlayer(model.getPlayerTwo(), buf);
+
+        int flags = 0;
+        if (model.getCurrentPlayer() != playerOne)
+            flags |= PLAYER_TWO_CURRENT;
+        if (model.isFirstTurn())
+            flags |= FIRST_TURN;
+        if (model.isGameOverNotified())
+            flags |= GAME_OVER_NOTIFIED;
+
+        buf.put((byte) flags)
+                .put((byte) model.getDiceRoll())
+                .putLong(model.getDice().getState());
+    }
+
+
+    private static void writePlayer(Player player, ByteBuffer buf){
+        buf.putShort((short) player.getPositionIndex())
+                .putDouble(player.getMoney());
+    }
+
+
+    /**
+     * Restore a game from a snapshot read from a buffer, at its current
+     * position. The game must have a board of the same size as the game
+     * that was saved. The whole snapshot is checked before any of the game
+     * is replaced, so a snapshot that is rejected leaves the game as it was.
+     *
+     * @param   buf     the buffer to read from
+     * @param   model   the game to restore, whose previous state is replaced
+     * @throws  IllegalArgumentException if the buffer does not hold a
+     *          whole, valid snapshot of a game with a board of the same size
+     */
+    public static void read(ByteBuffer buf, Model model){
+        List<Position> board = model.getBoard();
+        Player playerOne = model.getPlayerOne();
+        Player playerTwo = model.getPlayerTwo();
+
+        if (buf.remaining() < HEADER_BYTES)
+            throw new IllegalArgumentException("The snapshot ends early.");
+        if (buf.getInt() != MAGIC)
+            throw new IllegalArgumentException("Not a Minipoly game snapshot.");
+        byte version = buf.get();
+        if (version != VERSION)
+            throw new IllegalArgumentException("Unsupported snapshot version "
+                    + version + ".");
+        int size = buf.getShort();
+        if (size != board.size())
+            throw new IllegalArgumentException("The snapshot is of a board of "
+                    + size + " positions, not " + board.size() + ".");
+        if (buf.remaining() < sizeOf(model) - HEADER_BYTES)
+            throw new IllegalArgumentException("The snapshot ends early.");
+
+        // check the whole snapshot before any of the game is replaced
+        int start = buf.position();
+        for (int i=0; i<size; i++)
+            checkPosition(buf.get(start + i), board.get(i));
+        int playerStart = start + size;
+        checkPlayer(playerOne, buf, playerStart, size);
+        checkPlayer(playerTwo, buf, playerStart + PLAYER_BYTES, size);
+
+        int turnStart = playerStart + 2 * PLAYER_BYTES;
+        int flags = buf.get(turnStart);
+        int diceRoll = buf.get(turnStart + 1);
+        boolean firstTurn = (flags & FIRST_TURN) != 0;
+        if ((flags & ~(PLAYER_TWO_CURRENT | FIRST_TURN | GAME_OVER_NOTIFIED)) != 0)
+            throw new IllegalArgumentException("The turn is corrupt in the"
+                    + " snapshot.");
+        // no dice have been rolled before the first turn
+        if (diceRoll < 0 || diceRoll > 12 || (diceRoll == 0) != firstTurn)
+            throw new IllegalArgumentException("The dice roll " + diceRoll
+                    + " is corrupt in the snapshot.");
+
+        // take every property away from the players, then give them back
+        // the properties they own in the snapshot
+        buf.position(playerStart);
+        playerOne.restore(buf.getShort(), buf.getDouble());
+        playerTwo.restore(buf.getShort(), buf.getDouble());
+
+        buf.position(start);
+        for (Position p : board) {
+            int b = buf.get();
+            int owner = b & OWNER_MASK;
+            Player o = (owner == 0) ? null : (owner == 1) ? playerOne : playerTwo;
+            p.restore(o, (b >>> HOUSES_SHIFT) & HOUSES_MASK, (b & HOTEL_BIT) != 0);
+            if (o != null)
+                o.addProperty(p);
+        }
+
+        buf.position(turnStart + 2);
+        model.getDice().setState(buf.getLong());
+        model.restore(((flags & PLAYER_TWO_CURRENT) != 0) ? playerTwo : playerOne,
+                firstTurn, diceRoll, (flags & GAME_OVER_NOTIFIED) != 0);
+    }
+
+
+    private static void checkPosition(int b, Position p){
+        int owner = b & OWNER_MASK;
+        int houses = (b >>> HOUSES_SHIFT) & HOUSES_MASK;
+        boolean hotel = (b & HOTEL_BIT) != 0;
+        if (owner == 3 || houses > 4 || (hotel && houses != 0)
+                || (b & ~(OWNER_MASK | HOUSES_MASK << HOUSES_SHIFT | HOTEL_BIT)) != 0
+                || (owner == 0 && (houses != 0 || hotel))
+                || (!p.isProperty() && owner != 0))
+            throw new IllegalArgumentException("Position " + p.getNumber()
+                    + " is corrupt in the snapshot.");
+    }
+
+
+    private static void checkPlayer(Player player, ByteBuffer buf, int at,
+                                    int size){
+        int index = buf.getShort(at);
+        if (index < 0 || index >= size)
+            throw new IllegalArgumentException(player.toString()
+                    + " is not on the board in the snapshot.");
+        if (Double.isNaN(buf.getDouble(at + 2)))
+            throw new IllegalArgumentException(player.toString()
+                    + "'s money is corrupt in the snapshot.");
+    }
+
+
+    /**
+     * Write a snapshot of a game to a channel, such as a file or socket.
+     *
+     * @param   model   the game to save
+     * @param   out     the channel to write to
+     * @throws  IOException if the channel cannot be written to
+     */
+    public static void save(Model model, WritableByteChannel out) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(sizeOf(model));
+        write(model, buf);
+        buf.flip();
+        while (buf.hasRemaining())
+            out.write(buf);
+    }
+
+
+    /**
+     * Restore a game from a snapshot read from a channel.
+     *
+     * @param   in      the channel to read from
+     * @param   model   the game to restore, whose previous state is replaced
+     * @throws  IOException if the channel cannot be read, or ends before
+     *          the end of the snapshot
+     * @throws  IllegalArgumentException if the channel does not hold a
+     *          snapshot of a game with a board of the same size
+     */
+    public static void load(ReadableByteChannel in, Model model) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(sizeOf(model));
+        while (buf.hasRemaining())
+            if (in.read(buf) < 0)
+                throw new EOFException("The snapshot ends early.");
+        buf.flip();
+        read(buf, model);
+    }
+
+
+    /**
+     * Save a batch of games to a file through a memory-mapped buffer,
+     * replacing the file if it exists. The file holds the number of games,
+     * followed by a snapshot of each game in turn.
+     *
+     * @param   models  the games to save
+     * @param   file    the file to save to
+     * @throws  IOException if the file cannot be written
+     */
+    public static void saveAll(List<Model> models, Path file) throws IOException {
+        long size = 4;
+        for (Model m : models)
+            size += sizeOf(m);
+
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buf.putInt(models.size());
+            for (Model m : models)
+                write(m, buf);
+            buf.force();
+        }
+    }
+
+
+    /**
+     * Load a batch of games saved by <code>saveAll</code> from a file
+     * through a memory-mapped buffer. Each game is restored into a new
+     * Model with the standard board.
+     *
+     * @param   file    the file to load from
+     * @return  the games, in the order they were saved
+     * @throws  IOException if the file cannot be read
+     * @throws  IllegalArgumentException if the file does not hold snapshots
+     *          of games with the standard board
+     */
+    public static List<Model> loadAll(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            int count = (buf.remaining() < 4) ? -1 : buf.getInt();
+            if (count < 0)
+                throw new IllegalArgumentException("Not a batch of Minipoly"
+                        + " game snapshots.");
+            List<Model> models = new ArrayList<>(count);
+            for (int i=0; i<count; i++) {
+                Model m = new Model();
+                read(buf, m);
+                models.add(m);
+            }
+            return models;
+        }
+    }
+}
@@ -1,13 +1,14 @@
 package model;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Observable;
-import java.util.Random;
+import java.util.Arrays;
 
 
 /**
- * The Model Class for the Minipoly Game, extending the Observable class to
- * optionally incorporate the Model-View-Controller pattern, but does not
+ * The Model Class for the Minipoly Game, which notifies any attached
+ * <code>GameListener</code>s of each change to the game, to optionally
+ * incorporate the Model-View-Controller pattern, but does not
  * require to be implemented using this pattern to operate as intended.
  * To be made traversable, all position objects are stored in a Collection.
  * <p>
@@ -21,22 +22,37 @@ import java.util.Random;
  *
  * @author Marcus Lowndes
  */
-public class Model extends Observable {
+public class Model {
+    private static final GameListener[] NO_LISTENERS = {};
 
     private final ArrayList<Position> board;
+    private final RentTable rentTable;
 
     private final Player playerOne;
     private final Player playerTwo;
     private Player currentPlayer;
 
-    private final Random rand;
+    private final DiceRoller dice;
     private boolean firstTurn;
     private int diceRoll;
 
+    private final TurnEvent turnEvent = new TurnEvent();
+    private final TurnEvent actionEvent = new TurnEvent();
+
+    private GameListener[] listeners = NO_LISTENERS;
+    private boolean gameOverNotified;
+
+    private final StringBuilder renderBuffer = new StringBuilder();
+    private final ModelMetrics.Recorder metrics = new ModelMetrics.Recorder();
+
     public ArrayList<Position> getBoard() {
         return board;
     }
 
+    public RentTable getRentTable() {
+        return rentTable;
+    }
+
     public Player getPlayerOne() {
         return playerOne;
     }
@@ -57,17 +73,37 @@ public class Model extends Observable {
         return diceRoll;
     }
 
+    protected DiceRoller getDice() {
+        return dice;
+    }
+
+    protected boolean isGameOverNotified() {
+        return gameOverNotified;
+    }
+
+
+    /**
+     * Construct a Minipoly game Model, which rolls dice with an
+     * unpredictable seed.
+     */
+    public Model(){
+        this(new Dice());
+    }
+
 
     /**
      * Construct a Minipoly game Model.
      * This creates a new game board, including every position that is on
      * the board, and then creates both players and initiates the game.
      *
+     * @param   dice    the source of the dice rolls for every turn that is
+     *                  not given a roll, which is used only by this game
      * @post the position number cannot end up higher than 40, as that is
      *       the size of the board
      */
-    public Model(){
-        rand = new Random();
+    public Model(DiceRoller dice){
+        assert (dice != null) : "The game must have dice to roll.";
+        this.dice = dice;
 
         // construct the game board
         board = new ArrayList<>();
@@ -103,10 +139,11 @@ public class Model extends Observable {
         }
 
         assert (posn < 41) : "The position number must not go beyond 40.";
+        rentTable = new RentTable(board);
 
         //construct the players
-        playerOne = new Player(true, board.iterator());
-        playerTwo = new Player(false, board.iterator());
+        playerOne = new Player(true, board);
+        playerTwo = new Player(false, board);
         currentPlayer = playerOne;
         firstTurn = true;
     }
@@ -157,14 +194,11 @@ public class Model extends Observable {
      * of two 6-sided dice and moves a player that many positions on the board,
      * before calculating and charging any rent for the position that is landed on.
      *
-     * @return  a String representation of the move made by the current player,
-     *          including representation of any rent that is calculated.
+     * @return  the move made by the current player, including any rent that
+     *          is calculated. Its String representation describes the move
      */
-    public String nextTurn(){
-        return nextTurn(
-                (rand.nextInt(6) + 1)
-                        + (rand.nextInt(6) + 1)
-        );
+    public TurnEvent nextTurn(){
+        return nextTurn(dice.roll());
     }
 
 
@@ -176,14 +210,14 @@ public class Model extends Observable {
      *
      * @param   roll    a specified dice roll
      * @pre     roll must be in the range of 1-12, to simulate two six-sided dice
-     * @return  a String representation of the move made by the current player,
-     *          including representation of any rent that is calculated.
+     * @return  the move made by the current player, including any rent that
+     *          is calculated. Its String representation describes the move
      */
-    public String nextTurn(int roll){
+    public TurnEvent nextTurn(int roll){
         assert (roll > 0 && roll < 13) : "This is not a valid roll. Must be"
                 + " equivalent to the total of two six-sided dice.";
 
-        String posStr = "";
+        long start = metrics.startTurn();
         diceRoll = roll;
 
         // swap current player
@@ -193,61 +227,48 @@ public class Model extends Observable {
 
         // move current player
         Position prevPosn = currentPlayer.getPosition();
-        Position nextPosn = currentPlayer.move(diceRoll, board.iterator());
+        Position nextPosn = currentPlayer.move(diceRoll);
 
         // if player lands on Jail, they are moved to Go
+        boolean jailed = false;
         if (nextPosn.getNumber() == 21) {
-            nextPosn = currentPlayer.move(20, board.iterator());
-            posStr += "21 (JAIL)\nSent back to Posn ";
+            nextPosn = currentPlayer.move(20);
+            jailed = true;
         }
+        turnEvent.setMove(currentPlayer, diceRoll, prevPosn.getNumber(),
+                nextPosn, jailed);
+
+        // update any views before returning control to the user
+        if (listeners.length != 0)
+            for (GameListener l : listeners)
+                l.onPlayerMoved(currentPlayer, diceRoll, prevPosn.getNumber(),
+                        nextPosn.getNumber(), jailed);
 
         // calculate rent
-        String s = isCurrentPosnRentable() ? calculateRent() : "";
+        if (isCurrentPosnRentable())
+            calculateRent();
 
-        // update any views before returning control to the user
         firstTurn = false;
-        setChanged();
-        notifyObservers();
-
-        return currentPlayer.toString() + " rolls " + String.valueOf(diceRoll)
-                + "\nMoving from Posn " + String.valueOf(prevPosn.getNumber())
-                + " to Posn " + posStr + String.valueOf(nextPosn.getNumber()) + s;
+        metrics.endTurn(start, turnEvent);
+        return turnEvent;
     }
 
 
     /**
      * Calculate and charge any rent owed the owner of the property that the
      * current player has landed on, if the current player is not themselves
-     * the owner.
+     * the owner. The rent and the owner it is paid to are recorded in the
+     * turn's event.
      *
      * @pre     <code>posn</code> requires the current player to rent it
-     * @return  a string representation of the rent that has been calculated
-     *          and the transaction between the players
      */
-    private String calculateRent(){
+    private void calculateRent(){
         assert (isCurrentPosnRentable()) : "This position does not require rent";
 
         Position posn = currentPlayer.getPosition();
-        double rent = 0;
-
-        // calculate rent if owner owns whole road (set/section)...
-        if (posn.getOwner().ownsAllPrptsOnRoad(posn.getRoad())) {
-            rent = 0.2 * posn.getPrice();
-
-            // ...and if owner owns a hotel on the property
-            if (posn.isHotel())
-                rent += 0.1 * ((4.0 * 0.5 * posn.getPrice())
-                               + (0.8 * posn.getPrice()));
 
-            // ...and if owner owns improvements on the prpt
-            if (posn.getImprovements() > 0) {
-                rent += 0.1 * (posn.getImprovements()
-                               * 0.5 * posn.getPrice());
-            }
-        } else {
-            // otherwise, basic rent is calculated
-            rent += 0.1 * posn.getPrice();
-        }
+        // look up the rent for the property's current level of development
+        double rent = rentTable.getCurrentRent(currentPlayer.getPositionIndex());
 
         // rent transaction
         currentPlayer.setMoney(-rent);
@@ -256,9 +277,16 @@ public class Model extends Observable {
         else
             playerTwo.setMoney(rent);
 
-        return "\nThis position is owned by " + posn.getOwner().toString()
-                + ", therefore " + currentPlayer.toString()
-                + " is\ncharged \u00a3" + String.valueOf(rent) + "0 in rent.";
+        turnEvent.setRent(rent, posn.getOwner());
+        metrics.rent(turnEvent, isGameOver());
+
+        if (listeners.length != 0) {
+            for (GameListener l : listeners) {
+                l.onMoneyChanged(currentPlayer, currentPlayer.getMoney());
+                l.onMoneyChanged(posn.getOwner(), posn.getOwner().getMoney());
+            }
+            notifyIfGameOver();
+        }
     }
 
 
@@ -268,27 +296,138 @@ public class Model extends Observable {
      * If the property is considered improvable, the improve action is taken.
      *
      * @pre     the current player's position is buyable or improvable
-     * @return  a string representation of the action taken on that property
+     * @return  the action taken on that property. Its String representation
+     *          describes the action
      */
-    public String interactCurrentPrpt(){
+    public TurnEvent interactCurrentPrpt(){
         assert (isCurrentPosnBuyable() || isCurrentPosnImprovable()) :
                 "This position is not buyable or improvable.";
 
+        long start = metrics.startInteract();
         Position currentPosn = currentPlayer.getPosition();
 
-        String s;
         if (currentPosn.getOwner() == null){
-            s = currentPosn.buy(currentPlayer);
-            setChanged();
-            notifyObservers();
-            return s;
+            double cost = currentPosn.buy(currentPlayer);
+            actionEvent.setAction(TurnEvent.Type.BUY, currentPlayer,
+                    currentPosn, cost, false);
+
+            if (listeners.length != 0)
+                for (GameListener l : listeners)
+                    l.onOwnershipChanged(currentPosn, currentPlayer);
         }
         else {
-            s = currentPosn.improve(currentPlayer);
-            setChanged();
-            notifyObservers();
-            return s;
+            double cost = currentPosn.improve(currentPlayer);
+            actionEvent.setAction(TurnEvent.Type.IMPROVE, currentPlayer,
+                    currentPosn, cost, currentPosn.isHotel());
+
+            if (listeners.length != 0)
+                for (GameListener l : listeners)
+                    l.onImprovementAdded(currentPosn);
         }
+
+        if (listeners.length != 0) {
+            for (GameListener l : listeners)
+                l.onMoneyChanged(currentPlayer, currentPlayer.getMoney());
+            notifyIfGameOver();
+        }
+        metrics.endInteract(start, actionEvent, isGameOver());
+        return actionEvent;
+    }
+
+
+    /**
+     * Reset the game to its opening state in place, as if it had just been
+     * constructed, so that a new game can be played without constructing a
+     * new board and players. No properties are owned, both players are on GO
+     * with their starting money, and it is the first turn of Player 1.
+     * <p>
+     * The dice carry on rolling from where they are, and any attached
+     * listeners stay attached but are not notified of the reset.
+     */
+    public void reset(){
+        for (int i=0; i<board.size(); i++)
+            board.get(i).restore(null, 0, false);
+
+        playerOne.reset();
+        playerTwo.reset();
+        restore(playerOne, true, 0, false);
+    }
+
+
+    /**
+     * Restore the state of the current turn, once the positions and players
+     * have been restored from a snapshot. The current rent of every position
+     * is recalculated from the restored ownership and improvements. No
+     * listeners are notified, so any views must be refreshed by the caller.
+     *
+     * @param   current             the player whose turn it is
+     * @param   firstTurn           true if no turn has been taken yet
+     * @param   diceRoll            the last dice roll
+     * @param   gameOverNotified    true if the end of the game has already
+     *                              been announced to the listeners
+     */
+    protected void restore(Player current, boolean firstTurn, int diceRoll,
+                           boolean gameOverNotified){
+        assert (current == playerOne || current == playerTwo) :
+                "The current player must be a player of this game.";
+
+        currentPlayer = current;
+        this.firstTurn = firstTurn;
+        this.diceRoll = diceRoll;
+        this.gameOverNotified = gameOverNotified;
+        rentTable.refresh();
+        metrics.newGame(isGameOver());
+    }
+
+
+    /**
+     * Attach a listener, which will be notified of every following change
+     * to the game. While no listeners are attached, no notifications are made.
+     *
+     * @param   listener    the listener to be added
+     */
+    public void addListener(GameListener listener){
+        GameListener[] l = Arrays.copyOf(listeners, listeners.length + 1);
+        l[listeners.length] = listener;
+        listeners = l;
+    }
+
+
+    /** @param  listener    the listener to be removed, if it is attached */
+    public void removeListener(GameListener listener){
+        for (int i=0; i<listeners.length; i++)
+            if (listeners[i] == listener) {
+                GameListener[] l = new GameListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, l, 0, i);
+                System.arraycopy(listeners, i + 1, l, i, l.length - i);
+                listeners = (l.length == 0) ? NO_LISTENERS : l;
+                return;
+            }
+    }
+
+
+    /** Detach every listener. */
+    protected void removeAllListeners(){
+        listeners = NO_LISTENERS;
+    }
+
+
+    /** Add the activity of this game that has not yet been published to the
+     *  shared <code>ModelMetrics</code>. */
+    void flushMetrics(){
+        metrics.flush();
+    }
+
+
+    /** Notify the listeners once, when a player first runs out of money. */
+    private void notifyIfGameOver(){
+        if (gameOverNotified || !isGameOver())
+            return;
+
+        gameOverNotified = true;
+        Player winner = (playerOne.getMoney() <= 0) ? playerTwo : playerOne;
+        for (GameListener l : listeners)
+            l.onGameOver(winner);
     }
 
 
@@ -326,31 +465,61 @@ public class Model extends Observable {
 
 
     /**
+     * Append a String representation of all the players on a position
+     * to a buffer.
+     *
+     * @param   sb  the buffer to append to
      * @param   p   a specified position on the board
-     * @return  a String representation of all the players on the position
      */
-    private String playersOnPosnToString(Position p){
-        String s = "";
+    private void appendPlayersOnPosn(StringBuilder sb, Position p){
         if (!p.isProperty() && p.getNumber() != 1
                 && p.getNumber() != 21)
-            s += "\t\t\t";
+            sb.append("\t\t\t");
 
-        if (playerOne.getPosition().equals(p))
-            s += "\t" + playerOne.toString();
+        if (playerOne.getPosition() == p)
+            sb.append('\t').append(playerOne.toString());
 
-        if (playerTwo.getPosition().equals(p))
-            s += "\t" + playerTwo.toString();
+        if (playerTwo.getPosition() == p)
+            sb.append('\t').append(playerTwo.toString());
+    }
 
-        return s;
+
+    /**
+     * Append a String representation of the entire game board to a buffer.
+     * The board is written straight into the buffer, so rendering takes time
+     * in proportion to the size of the board, and a buffer that is reused
+     * between renders does not need to grow again.
+     *
+     * @param   sb  the buffer to append to
+     * @return  the buffer
+     */
+    public StringBuilder appendTo(StringBuilder sb){
+        sb.append("Posn\tName\tPrice\tOwner\tImpvmts\tPlayerCounters\n");
+        for (Position p: board) {
+            p.appendTo(sb);
+            appendPlayersOnPosn(sb, p);
+            sb.append('\n');
+        }
+        return sb;
+    }
+
+
+    /**
+     * Write a String representation of the entire game board to a character
+     * stream, such as a <code>PrintStream</code> or <code>Writer</code>.
+     *
+     * @param   out the stream to write to
+     * @throws  IOException if the stream cannot be written to
+     */
+    public void writeTo(Appendable out) throws IOException {
+        renderBuffer.setLength(0);
+        out.append(appendTo(renderBuffer));
     }
 
 
     /** @return a String representation of the entire game board */
     @Override
     public String toString(){
-        String s = "Posn\tName\tPrice\tOwner\tImpvmts\tPlayerCounters\n";
-        for (Position p: board)
-            s += (p.toString() + playersOnPosnToString(p) + "\n");
-        return s;
+        return appendTo(new StringBuilder(board.size() * 48)).toString();
     }
 }
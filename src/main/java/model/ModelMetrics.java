@@ -0,0 +1,550 @@
+package model;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+
+/**
+ * The ModelMetrics class counts the activity of every Minipoly game Model in
+ * a process: turns, landings on JAIL, rent, purchases and improvements, the
+ * length of each completed game, and the latency of turns and actions.
+ * <p>
+ * Recording is kept off the hot path as far as possible. Each Model counts
+ * its own activity, including the games it completes, in plain fields of a
+ * <code>Recorder</code>, which are added to the shared counters every
+ * <code>FLUSH_INTERVAL</code> turns, when a game ends and when the Model is
+ * released to a <code>ModelPool</code>, so games on different threads almost
+ * never touch the same memory. The shared counters are striped <code>LongAdder</code>s,
+ * and the histograms have fixed buckets. Only one turn and one action in
+ * every <code>SAMPLE_INTERVAL</code> is timed, as reading the clock costs
+ * about as much as a turn. The counts published can therefore lag behind
+ * each Model in play by up to <code>FLUSH_INTERVAL</code> turns, but every
+ * completed game is counted in full.
+ * <p>
+ * Starting the JVM with <code>-Dminipoly.metrics=false</code> turns the
+ * recording off, so that its cost can be measured, unless
+ * <code>FlightEvents</code> are on, as they are recorded by the same code.
+ * <p>
+ * The metrics are published over JMX by <code>register</code>, and read in
+ * code with <code>snapshot</code>.
+ *
+ * @author Marcus Lowndes
+ */
+public final class ModelMetrics implements ModelMetricsMBean {
+    /** The name that the metrics are registered under. */
+    public static final String OBJECT_NAME = "model:type=ModelMetrics";
+
+    /** The number of turns a Model plays between adding its counts to the
+     *  shared counters. */
+    public static final int FLUSH_INTERVAL = 256;
+
+    /** One turn, and one action, in this many is timed. */
+    public static final int SAMPLE_INTERVAL = 1024;
+
+    /** The width, in turns, of each game length histogram bucket. */
+    public static final int GAME_LENGTH_BUCKET_WIDTH = 10;
+
+    /** The number of game length histogram buckets. The last bucket holds
+     *  every game at least as long as its lower bound. */
+    public static final int GAME_LENGTH_BUCKETS = 50;
+
+    /** The number of latency histogram buckets, up to about 275 seconds. */
+    public static final int LATENCY_BUCKETS = 40;
+
+    /** False if the JVM was started with
+     *  <code>-Dminipoly.metrics=false</code>. */
+    public static final boolean ENABLED =
+            !"false".equals(System.getProperty("minipoly.metrics"));
+
+    private static final ModelMetrics INSTANCE = new ModelMetrics();
+
+    private final LongAdder turns = new LongAdder();
+    private final LongAdder jailHits = new LongAdder();
+    private final LongAdder rentPayments = new LongAdder();
+    private final DoubleAdder rentVolume = new DoubleAdder();
+    private final LongAdder purchases = new LongAdder();
+    private final LongAdder improvements = new LongAdder();
+    private final LongAdder gamesCompleted = new LongAdder();
+    private final LongAdder gameTurns = new LongAdder();
+    private final LongAdder[] gameLengths = adders(GAME_LENGTH_BUCKETS);
+    private final LongAdder[] turnLatencies = adders(LATENCY_BUCKETS);
+    private final LongAdder[] interactLatencies = adders(LATENCY_BUCKETS);
+    private volatile long startNanos = System.nanoTime();
+
+    private ModelMetrics(){
+    }
+
+
+    /** @return the metrics of every game in this process */
+    public static ModelMetrics get(){
+        return INSTANCE;
+    }
+
+
+    private static LongAdder[] adders(int n){
+        LongAdder[] a = new LongAdder[n];
+        for (int i=0; i<n; i++)
+            a[i] = new LongAdder();
+        return a;
+    }
+
+
+    /**
+     * Publish the metrics on the platform MBean server under
+     * <code>OBJECT_NAME</code>, if they have not been already.
+     *
+     * @throws  IllegalStateException if the metrics cannot be registered
+     */
+    public static void register(){
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            synchronized (INSTANCE) {
+                if (!server.isRegistered(name))
+                    server.registerMBean(INSTANCE, name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("The metrics could not be"
+                    + " registered.", e);
+        }
+    }
+
+
+    @Override
+    public long getTurns(){
+        return turns.sum();
+    }
+
+    @Override
+    public double getTurnsPerSecond(){
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return (seconds <= 0) ? 0 : turns.sum() / seconds;
+    }
+
+    @Override
+    public long getJailHits(){
+        return jailHits.sum();
+    }
+
+    @Override
+    public long getRentPayments(){
+        return rentPayments.sum();
+    }
+
+    @Override
+    public double getRentVolume(){
+        return rentVolume.sum();
+    }
+
+    @Override
+    public long getPurchases(){
+        return purchases.sum();
+    }
+
+    @Override
+    public long getImprovements(){
+        return improvements.sum();
+    }
+
+    @Override
+    public long getGamesCompleted(){
+        return gamesCompleted.sum();
+    }
+
+    @Override
+    public double getMeanGameLength(){
+        long games = gamesCompleted.sum();
+        return (games == 0) ? 0 : (double) gameTurns.sum() / games;
+    }
+
+    @Override
+    public long[] getGameLengthHistogram(){
+        return sums(gameLengths);
+    }
+
+    @Override
+    public long[] getTurnLatencyHistogram(){
+        return sums(turnLatencies);
+    }
+
+    @Override
+    public long getTurnLatencyMedianNanos(){
+        return percentile(sums(turnLatencies), 0.5);
+    }
+
+    @Override
+    public long getTurnLatency99thPercentileNanos(){
+        return percentile(sums(turnLatencies), 0.99);
+    }
+
+    @Override
+    public long[] getInteractLatencyHistogram(){
+        return sums(interactLatencies);
+    }
+
+
+    private static long[] sums(LongAdder[] adders){
+        long[] a = new long[adders.length];
+        for (int i=0; i<a.length; i++)
+            a[i] = adders[i].sum();
+        return a;
+    }
+
+
+    /**
+     * @param   histogram   a latency histogram
+     * @param   fraction    the fraction of samples at or below the percentile
+     * @return  the upper bound of the bucket holding the percentile, or 0 if
+     *          there are no samples
+     */
+    static long percentile(long[] histogram, double fraction){
+        long total = 0;
+        for (long n : histogram)
+            total += n;
+        if (total == 0)
+            return 0;
+
+        long rank = (long) Math.ceil(fraction * total);
+        long seen = 0;
+        for (int i=0; i<histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank)
+                return 1L << i;
+        }
+        return 1L << (histogram.length - 1);
+    }
+
+
+    @Override
+    public void reset(){
+        for (LongAdder a : new LongAdder[] {turns, jailHits, rentPayments,
+                purchases, improvements, gamesCompleted, gameTurns})
+            a.reset();
+        rentVolume.reset();
+        for (int i=0; i<GAME_LENGTH_BUCKETS; i++)
+            gameLengths[i].reset();
+        for (int i=0; i<LATENCY_BUCKETS; i++) {
+            turnLatencies[i].reset();
+            interactLatencies[i].reset();
+        }
+        startNanos = System.nanoTime();
+    }
+
+
+    /** @return a copy of the metrics as they are now */
+    public Snapshot snapshot(){
+        return new Snapshot(this);
+    }
+
+
+    /** @return the latency histogram bucket of a duration */
+    private static int latencyBucket(long nanos){
+        return Math.min(64 - Long.numberOfLeadingZeros(Math.max(nanos, 0)),
+                LATENCY_BUCKETS - 1);
+    }
+
+
+    /**
+     * Counts the activity of a single Model in plain fields, which are added
+     * to the shared metrics every <code>FLUSH_INTERVAL</code> turns and at
+     * the end of each game. A recorder is used only by the thread playing
+     * its Model.
+     */
+    static final class Recorder {
+        /** A constant, so that when it is false every call is removed when
+         *  the calling code is compiled. */
+        private static final boolean ON = ENABLED || FlightEvents.ENABLED;
+
+        private final ModelMetrics metrics = INSTANCE;
+        private final int[] gameLengths = new int[GAME_LENGTH_BUCKETS];
+        private long turns;
+        private long flushedTurns;
+        private long gameStart;
+        private int interactions;
+        private int jailHits;
+        private int rentPayments;
+        private double rentVolume;
+        private int purchases;
+        private int improvements;
+        private int gamesCompleted;
+        private long completedTurns;
+        private boolean gameOver;
+        private boolean ending;
+
+        /**
+         * Start recording a turn.
+         *
+         * @return  the time the turn started, if it is to be timed, or 0
+         */
+        long startTurn(){
+            if (!ON)
+                return 0;
+            return ((turns & (SAMPLE_INTERVAL - 1)) == 0) ? System.nanoTime() : 0;
+        }
+
+        /**
+         * Record the end of a turn.
+         *
+         * @param   start   the value returned by <code>startTurn</code>
+         * @param   move    the move made during the turn
+         */
+        void endTurn(long start, TurnEvent move){
+            if (!ON)
+                return;
+            if (start != 0)
+                metrics.turnLatencies[latencyBucket(System.nanoTime() - start)]
+                        .increment();
+            if (move.isJailed())
+                jailHits++;
+            if (FlightEvents.ENABLED)
+                FlightEvents.turn(move);
+            turns++;
+
+            // a game that ended on this turn's rent is only recorded once
+            // the turn is counted, and is published with it
+            if (ending) {
+                ending = false;
+                gameOver(move);
+            }
+            if ((turns & (FLUSH_INTERVAL - 1)) == 0 || gamesCompleted != 0)
+                flush();
+        }
+
+        /**
+         * Start recording a buy or improve action.
+         *
+         * @return  the time the action started, if it is to be timed, or 0
+         */
+        long startInteract(){
+            if (!ON)
+                return 0;
+            return ((interactions++ & (SAMPLE_INTERVAL - 1)) == 0) ?
+                    System.nanoTime() : 0;
+        }
+
+        /**
+         * Record the end of a buy or improve action.
+         *
+         * @param   start   the value returned by <code>startInteract</code>
+         * @param   action  the property being bought or improved
+         * @param   over    true if the game is over
+         */
+        void endInteract(long start, TurnEvent action, boolean over){
+            if (!ON)
+                return;
+            if (start != 0)
+                metrics.interactLatencies[latencyBucket(System.nanoTime() - start)]
+                        .increment();
+            if (action.getType() == TurnEvent.Type.BUY)
+                purchases++;
+            else
+                improvements++;
+            if (FlightEvents.ENABLED)
+                FlightEvents.action(action);
+            if (over && !gameOver) {
+                gameOver(action);
+                flush();
+            }
+        }
+
+        /**
+         * Record a payment of rent. If it ends the game, the end is recorded
+         * by <code>endTurn</code>.
+         *
+         * @param   move    the move during which the rent was paid
+         * @param   over    true if the game is over
+         */
+        void rent(TurnEvent move, boolean over){
+            if (!ON)
+                return;
+            rentPayments++;
+            rentVolume += move.getRent();
+            if (FlightEvents.ENABLED)
+                FlightEvents.rent(move);
+            if (over && !gameOver)
+                ending = true;
+        }
+
+        /**
+         * Record the end of the game, unless it has already been recorded.
+         * The game is published by the next flush.
+         *
+         * @param   last    the move or action that ended the game
+         */
+        private void gameOver(TurnEvent last){
+            if (gameOver)
+                return;
+
+            gameOver = true;
+            long length = turns - gameStart;
+            gamesCompleted++;
+            completedTurns += length;
+            gameLengths[(int) Math.min(length / GAME_LENGTH_BUCKET_WIDTH,
+                    GAME_LENGTH_BUCKETS - 1)]++;
+            if (FlightEvents.ENABLED)
+                FlightEvents.gameOver(last, length);
+        }
+
+        /**
+         * Start counting a new game, without recording the end of one.
+         *
+         * @param   over    true if the new game has already ended, as a game
+         *                  restored from a snapshot may have
+         */
+        void newGame(boolean over){
+            if (!ON)
+                return;
+            gameStart = turns;
+            gameOver = over;
+            ending = false;
+        }
+
+        /** Add the counts since the last flush to the shared metrics. */
+        void flush(){
+            if (!ON)
+                return;
+            metrics.turns.add(turns - flushedTurns);
+            metrics.jailHits.add(jailHits);
+            flushedTurns = turns;
+            jailHits = 0;
+
+            if (rentPayments != 0) {
+                metrics.rentPayments.add(rentPayments);
+                metrics.rentVolume.add(rentVolume);
+                rentPayments = 0;
+                rentVolume = 0;
+            }
+            if (purchases != 0 || improvements != 0) {
+                metrics.purchases.add(purchases);
+                metrics.improvements.add(improvements);
+                purchases = 0;
+                improvements = 0;
+            }
+            if (gamesCompleted != 0) {
+                metrics.gamesCompleted.add(gamesCompleted);
+                metrics.gameTurns.add(completedTurns);
+                for (int i=0; i<GAME_LENGTH_BUCKETS; i++)
+                    if (gameLengths[i] != 0) {
+                        metrics.gameLengths[i].add(gameLengths[i]);
+                        gameLengths[i] = 0;
+                    }
+                gamesCompleted = 0;
+                completedTurns = 0;
+            }
+        }
+    }
+
+
+    /** The metrics as they were at one moment. */
+    public static final class Snapshot {
+        private final long turns;
+        private final double turnsPerSecond;
+        private final long jailHits;
+        private final long rentPayments;
+        private final double rentVolume;
+        private final long purchases;
+        private final long improvements;
+        private final long gamesCompleted;
+        private final double meanGameLength;
+        private final long[] gameLengthHistogram;
+        private final long[] turnLatencyHistogram;
+        private final long[] interactLatencyHistogram;
+
+        private Snapshot(ModelMetrics m){
+            turns = m.getTurns();
+            turnsPerSecond = m.getTurnsPerSecond();
+            jailHits = m.getJailHits();
+            rentPayments = m.getRentPayments();
+            rentVolume = m.getRentVolume();
+            purchases = m.getPurchases();
+            improvements = m.getImprovements();
+            gamesCompleted = m.getGamesCompleted();
+            meanGameLength = m.getMeanGameLength();
+            gameLengthHistogram = m.getGameLengthHistogram();
+            turnLatencyHistogram = m.getTurnLatencyHistogram();
+            interactLatencyHistogram = m.getInteractLatencyHistogram();
+        }
+
+        public long getTurns() {
+            return turns;
+        }
+
+        public double getTurnsPerSecond() {
+            return turnsPerSecond;
+        }
+
+        public long getJailHits() {
+            return jailHits;
+        }
+
+        public long getRentPayments() {
+            return rentPayments;
+        }
+
+        public double getRentVolume() {
+            return rentVolume;
+        }
+
+        public long getPurchases() {
+            return purchases;
+        }
+
+        public long getImprovements() {
+            return improvements;
+        }
+
+        public long getGamesCompleted() {
+            return gamesCompleted;
+        }
+
+        public double getMeanGameLength() {
+            return meanGameLength;
+        }
+
+        /** @param  bucket  a bucket covering games of
+         *                  <code>bucket * GAME_LENGTH_BUCKET_WIDTH</code>
+         *                  turns or more
+         *  @return the number of games whose length fell into the bucket */
+        public long getGameLengthCount(int bucket) {
+            return gameLengthHistogram[bucket];
+        }
+
+        /** @param  bucket  a bucket covering latencies of up to
+         *                  2<sup>bucket</sup> nanoseconds
+         *  @return the number of sampled turns that fell into the bucket */
+        public long getTurnLatencyCount(int bucket) {
+            return turnLatencyHistogram[bucket];
+        }
+
+        /** @param  bucket  a bucket covering latencies of up to
+         *                  2<sup>bucket</sup> nanoseconds
+         *  @return the number of sampled actions that fell into the bucket */
+        public long getInteractLatencyCount(int bucket) {
+            return interactLatencyHistogram[bucket];
+        }
+
+        /**
+         * @param   fraction    the fraction of sampled turns, such as 0.99
+         * @return  the latency that the fraction of sampled turns took no
+         *          longer than, rounded up to a power of two nanoseconds
+         */
+        public long getTurnLatencyPercentileNanos(double fraction) {
+            return percentile(turnLatencyHistogram, fraction);
+        }
+
+        @Override
+        public String toString(){
+            return "turns=" + turns + " turns/s=" + turnsPerSecond
+                    + " jail hits=" + jailHits + " rent payments=" + rentPayments
+                    + " rent volume=" + rentVolume + " purchases=" + purchases
+                    + " improvements=" + improvements + " games=" + gamesCompleted
+                    + " mean game length=" + meanGameLength
+                    + " turn p50=" + getTurnLatencyPercentileNanos(0.5) + "ns"
+                    + " turn p99=" + getTurnLatencyPercentileNanos(0.99) + "ns";
+        }
+    }
+}
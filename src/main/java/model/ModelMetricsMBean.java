@@ -0,0 +1,62 @@
+package model;
+
+
+/**
+ * The management interface of <code>ModelMetrics</code>, through which the
+ * activity of every Minipoly game in a process is published over JMX.
+ *
+ * @author Marcus Lowndes
+ */
+public interface ModelMetricsMBean {
+
+    /** @return the number of turns played */
+    long getTurns();
+
+    /** @return the mean number of turns played per second since the metrics
+     *          were started or last reset */
+    double getTurnsPerSecond();
+
+    /** @return the number of turns that landed on JAIL */
+    long getJailHits();
+
+    /** @return the number of payments of rent */
+    long getRentPayments();
+
+    /** @return the total rent paid */
+    double getRentVolume();
+
+    /** @return the number of properties bought */
+    long getPurchases();
+
+    /** @return the number of houses and hotels built */
+    long getImprovements();
+
+    /** @return the number of games that have ended */
+    long getGamesCompleted();
+
+    /** @return the mean number of turns in the games that have ended */
+    double getMeanGameLength();
+
+    /** @return the number of games that ended in each bucket of
+     *          <code>ModelMetrics.GAME_LENGTH_BUCKET_WIDTH</code> turns */
+    long[] getGameLengthHistogram();
+
+    /** @return the number of sampled turns that took up to each power of two
+     *          nanoseconds, starting from 1 ns */
+    long[] getTurnLatencyHistogram();
+
+    /** @return the median of the sampled turn latencies, rounded up to a
+     *          power of two nanoseconds */
+    long getTurnLatencyMedianNanos();
+
+    /** @return the 99th percentile of the sampled turn latencies, rounded up
+     *          to a power of two nanoseconds */
+    long getTurnLatency99thPercentileNanos();
+
+    /** @return the number of sampled buy and improve actions that took up to
+     *          each power of two nanoseconds, starting from 1 ns */
+    long[] getInteractLatencyHistogram();
+
+    /** Set every metric back to zero. */
+    void reset();
+}
@@ -0,0 +1,75 @@
+package model;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Supplier;
+
+
+/**
+ * The ModelPool class holds games that have finished, so that they can be
+ * reset and played again instead of constructing a new Model for every game.
+ * <p>
+ * Resetting a game reuses its board, its players and their lists of
+ * properties, so playing games back to back from a pool creates almost no
+ * garbage. The pool may be shared between threads, but each game taken from
+ * it must only be played by one thread at a time. Taking a game from an
+ * empty pool constructs a new one, and games returned to a full pool are
+ * left for the garbage collector.
+ *
+ * @author Marcus Lowndes
+ */
+public final class ModelPool {
+    private final ArrayBlockingQueue<Model> idle;
+    private final Supplier<? extends DiceRoller> dice;
+
+
+    /**
+     * Construct a pool of games which roll dice with unpredictable seeds.
+     *
+     * @param   capacity    the most games to hold
+     */
+    public ModelPool(int capacity){
+        this(capacity, Dice::new);
+    }
+
+
+    /**
+     * Construct a pool of games.
+     *
+     * @param   capacity    the most games to hold
+     * @param   dice        supplies the dice of each new game that the pool
+     *                      constructs
+     */
+    public ModelPool(int capacity, Supplier<? extends DiceRoller> dice){
+        assert (capacity > 0) : "The pool must be able to hold a game.";
+        idle = new ArrayBlockingQueue<>(capacity);
+        this.dice = dice;
+    }
+
+
+    /** @return a game in its opening state, with no listeners attached */
+    public Model acquire(){
+        Model model = idle.poll();
+        return (model != null) ? model : new Model(dice.get());
+    }
+
+
+    /**
+     * Return a game to the pool once it is no longer being played. The game
+     * is reset and its listeners are detached, and it must not be used again
+     * by the caller.
+     *
+     * @param   model   the game to return
+     */
+    public void release(Model model){
+        model.removeAllListeners();
+        model.flushMetrics();
+        model.reset();
+        idle.offer(model);
+    }
+
+
+    /** @return the number of games waiting to be reused */
+    public int size(){
+        return idle.size();
+    }
+}
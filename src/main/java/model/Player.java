@@ -1,24 +1,29 @@
 package model;
 
-import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.List;
 
 
 /**
  * The Player class represents a player of the Minipoly game.
  * There can only be 2 players to the Minipoly game, the player has a position
- * and a way of traversing through the board, and is allocated some money to
+ * given by its index on the board, and is allocated some money to
  * buy and improve properties. The player can buy properties and if they all
  * properties in a set they can improve them.
  *
  * @author Marcus Lowndes
  */
 public class Player {
+    private static final int PRPTS_PER_ROAD = 3;
+
     private final boolean playerOne;
-    private final ArrayList<Position> properties = new ArrayList<>();
+    private final int[] prptsOnRoad = new int[26];
+    private int ownedRoads;
+    private final List<Position> board;
     private Position position;
-    private Iterator<Position> positionIter;
+    private int positionIndex;
     private double money;
+    private final double startingMoney;
 
     public boolean isPlayerOne() {
         return playerOne;
@@ -28,6 +33,11 @@ public class Player {
         return position;
     }
 
+    /** @return the index of the player's position on the board */
+    public int getPositionIndex() {
+        return positionIndex;
+    }
+
     public double getMoney() {
         return money;
     }
@@ -40,14 +50,11 @@ public class Player {
      *
      * @param   isPlayerOne     true if this player is Player 1. otherwise,
      *                          this is player 2
-     * @param   posIter         an iterator to track the position that this player
-     *                          is on, on the board
+     * @param   board           the board that this player moves along,
+     *                          starting on its first position
      */
-    protected Player(boolean isPlayerOne, Iterator<Position> posIter){
-        playerOne = isPlayerOne;
-        money = 2000.00;
-        positionIter = posIter;
-        position = positionIter.next();
+    protected Player(boolean isPlayerOne, List<Position> board){
+        this(isPlayerOne, board, 2000);
     }
 
 
@@ -59,52 +66,54 @@ public class Player {
      *
      * @param   isPlayerOne     true if this player is Player 1. otherwise,
      *                          this is player 2
-     * @param   posIter         an iterator to track the position that this player
-     *                          is on, on the board
+     * @param   board           the board that this player moves along,
+     *                          starting on its first position
      * @param   startingMoney   the amount of money the player starts with.
      *                          typically, this will be £2000.00
      */
     protected Player( boolean isPlayerOne,
-                      Iterator<Position> posIter,
+                      List<Position> board,
                       int startingMoney ){
-        this(isPlayerOne, posIter);
+        playerOne = isPlayerOne;
+        this.board = board;
+        this.startingMoney = startingMoney;
         money = startingMoney;
+        positionIndex = 0;
+        position = board.get(0);
     }
 
 
     /**
-     * Move the player through the board. This method uses iterators to access
-     * the Position objects on the board, and iterates along them <code>num</code>
-     * number of times. If the player reaches the end of the board, they will cycle
-     * back to the beginning of the board using a fresh iterator.
+     * Move the player through the board. The player's index on the board is
+     * advanced by <code>num</code> positions, and if the player passes the end
+     * of the board, they will cycle back to the beginning of the board.
      *
-     * @param   num         for this number of loops, the player's position will
-     *                      iterate along the board
-     * @param   boardIter   a fresh iterator to reset the player's iterator if the
-     *                      player has reached the end of the board
+     * @param   num     the number of positions to move the player along
+     * @pre     num must not be negative
      * @return  the position that the player arrives on after the move is made
      */
-    protected Position move(int num, Iterator<Position> boardIter){
-        for (int i=0; i<num; i++) {
-            if (!positionIter.hasNext())
-                positionIter = boardIter;
+    protected Position move(int num){
+        assert (num >= 0) : "A player cannot move backwards.";
 
-            position = positionIter.next();
-        }
+        positionIndex = (positionIndex + num) % board.size();
+        position = board.get(positionIndex);
         return position;
     }
 
 
     /** @return true if player owns all 3 of the properties of a given set/road */
     public boolean ownsAllPrptsOnRoad(char road){
-        int count = 0;
+        int r = road - 'A';
+        return r >= 0 && r < 26 && (ownedRoads & (1 << r)) != 0;
+    }
 
-        if (!properties.isEmpty())
-            for(Position p: properties)
-                if (p.getRoad() == road)
-                    count ++;
 
-        return (count == 3);
+    /**
+     * @return  a bit mask of every road that the player owns all 3 properties
+     *          of, where bit 0 represents road 'A', bit 1 road 'B' and so on
+     */
+    public int getOwnedRoads(){
+        return ownedRoads;
     }
 
 
@@ -114,13 +123,44 @@ public class Player {
     }
 
 
+    /**
+     * Restore the player's position and money, as recorded in a snapshot,
+     * and take away all of their properties. The properties they own in the
+     * snapshot are then given back to them with <code>addProperty</code>.
+     *
+     * @param   positionIndex   the index of the player's position on the board
+     * @param   money           the player's money
+     */
+    protected void restore(int positionIndex, double money){
+        assert (positionIndex >= 0 && positionIndex < board.size()) :
+                "The position must be on the board.";
+
+        this.positionIndex = positionIndex;
+        position = board.get(positionIndex);
+        this.money = money;
+        Arrays.fill(prptsOnRoad, 0);
+        ownedRoads = 0;
+    }
+
+
+    /** Return the player to the start of the board with their starting
+     *  money, and take away all of their properties. */
+    protected void reset(){
+        restore(0, startingMoney);
+    }
+
+
     /**
      * @param   p   the property to be given to the player
      * @pre     the position provided must be a property
      */
     protected void addProperty(Position p){
         assert(p.isProperty()) : "Not a property";
-        properties.add(p);
+
+        // keep count of the properties on each road, to track complete sets
+        int r = p.getRoad() - 'A';
+        if (++prptsOnRoad[r] == PRPTS_PER_ROAD)
+            ownedRoads |= 1 << r;
     }
 
 
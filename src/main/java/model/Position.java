@@ -30,6 +30,7 @@ public class Position {
     private Player owner = null;
     private int improvements = 0;
     private boolean hotel = false;
+    private RentTable rentTable;
 
     public int getNumber() {
         return number;
@@ -89,6 +90,12 @@ public class Position {
     }
 
 
+    /** @param  rentTable   the table to keep updated with this position's rent */
+    protected void setRentTable(RentTable rentTable) {
+        this.rentTable = rentTable;
+    }
+
+
     /** @return a String representation of the position's name */
     public String nameToString() {
         switch (number){
@@ -111,18 +118,19 @@ public class Position {
      * @param   buyer   the player that is buying the property
      * @pre     this position is a property
      * @pre     this property position currently has no owner
-     * @return  a String representation of the transaction
+     * @return  the amount paid for the property
      */
-    protected String buy(Player buyer){
+    protected double buy(Player buyer){
         assert (property)       : "This is not a property.";
         assert (owner == null)  : "This property already has an owner.";
 
         buyer.setMoney(-price);
         owner = buyer;
         buyer.addProperty(this);
+        if (rentTable != null)
+            rentTable.update(this);
 
-        return "" + nameToString() + " has been bought by " + buyer.toString()
-                + " for \u00a3" + String.valueOf(price) + "0";
+        return price;
     }
 
 
@@ -137,14 +145,13 @@ public class Position {
      * @pre     the improver is the owner of the property
      * @pre     the property is not already a hotel
      * @post    the improvements cannot be increased to more than 4
-     * @return  a String representation of the transaction
+     * @return  the amount paid for the improvement
      */
-    protected String improve(Player improver){
+    protected double improve(Player improver){
         assert (property)           : "This is not a property.";
         assert (improver == owner)  : "The player does not own this property.";
         assert (!hotel)             : "This property cannot be improved further.";
 
-        String posnType = "";
         double cost = 0;
 
         // if there are 4 improvements, buy a hotel
@@ -153,7 +160,6 @@ public class Position {
             improver.setMoney(-cost);
             improvements = 0;
             hotel = true;
-            posnType = "hotel";
         }
 
         // if there are less than 4 improvements, buy an improvement
@@ -161,36 +167,76 @@ public class Position {
             cost = 0.5 * price;
             improver.setMoney(-cost);
             improvements++;
-            posnType = "house";
         }
 
         assert (!(improvements > 4)) : "Improvements cannot advance beyond 4.";
+        if (rentTable != null)
+            rentTable.update(this);
 
-        return improver.toString() + " pays \u00a3" + String.valueOf(cost)
-                + "0 to build a " + posnType + " at the property.";
+        return cost;
     }
 
 
-    @Override
-    public String toString(){
-        String i = "", o = "";
-
-        i += String.valueOf(improvements);
-        if (hotel)
-            i = "Hotel";
+    /**
+     * Restore the ownership and improvements of the property, as recorded
+     * in a snapshot, without charging anyone for them. The owner must also
+     * be given the property, and the rent table refreshed, by the caller.
+     *
+     * @param   owner           the owner of the property, or null
+     * @param   improvements    the number of houses on the property
+     * @param   hotel           true if there is a hotel on the property
+     * @pre     only a property can have an owner or improvements
+     * @pre     improvements must be in the range of 0-4
+     */
+    protected void restore(Player owner, int improvements, boolean hotel){
+        assert (property || (owner == null && improvements == 0 && !hotel)) :
+                "This is not a property.";
+        assert (improvements >= 0 && improvements <= 4) :
+                "Improvements cannot advance beyond 4.";
+
+        this.owner = owner;
+        this.improvements = improvements;
+        this.hotel = hotel;
+    }
 
-        if (owner != null)
-            o += " " + owner.toString();
-        else
-            o += " []";
 
-        String s = String.valueOf(number) + ":\t " + nameToString();
-        if (property)
-            return s + "\t\u00a3" + String.valueOf(price) + "0\t" + o + "\t" + i;
+    /**
+     * Append a String representation of the position to a buffer, without
+     * building any intermediate Strings.
+     *
+     * @param   sb  the buffer to append to
+     * @return  the buffer
+     */
+    public StringBuilder appendTo(StringBuilder sb){
+        sb.append(number).append(":\t ");
+
+        // name of the position
+        if (number == 1)
+            sb.append("GO");
+        else if (number == 21)
+            sb.append("JAIL");
+        else if (property)
+            sb.append(road).append(roadNumber);
+
+        if (property) {
+            sb.append("\t\u00a3").append(price).append("0\t ")
+                    .append(owner != null ? owner.toString() : "[]")
+                    .append('\t');
+            if (hotel)
+                sb.append("Hotel");
+            else
+                sb.append(improvements);
+        }
         else if (number == 1 || number == 21)
-            return s + "\t\t\t";
-        else
-            return s;
+            sb.append("\t\t\t");
+
+        return sb;
+    }
+
+
+    @Override
+    public String toString(){
+        return appendTo(new StringBuilder(32)).toString();
     }
 
 }
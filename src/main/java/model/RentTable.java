@@ -0,0 +1,176 @@
+package model;
+
+import java.util.List;
+
+
+/**
+ * The RentTable class holds the rent of every position on a board, for every
+ * state of development that a property can be in.
+ * <p>
+ * The rates are calculated once when the table is built, so that charging
+ * rent is a lookup rather than a calculation. The table also holds the rent
+ * currently charged at each position, which is kept up to date by the
+ * positions themselves whenever they are bought or improved. Completing a
+ * road changes the rent of every property on that road, so those are all
+ * updated together.
+ *
+ * @author Marcus Lowndes
+ */
+public class RentTable {
+    /** The level of a property whose owner does not own its whole road. */
+    public static final int BASIC = 0;
+
+    /** The level of a property on a complete road, with no improvements.
+     *  Each house built on the property raises its level by one. */
+    public static final int FULL_SET = 1;
+
+    /** The level of a property with a hotel built on it. */
+    public static final int HOTEL = 6;
+
+    /** The number of levels of development. */
+    public static final int LEVELS = 7;
+
+    private final double[][] rates;
+    private final double[] current;
+    private final Position[][] roads = new Position[26][];
+
+
+    /**
+     * Construct the rent table of a board, and attach it to every position
+     * so that it is updated as the positions change.
+     *
+     * @param   board   the positions of a board, ordered by position number
+     */
+    protected RentTable(List<Position> board){
+        int size = board.size();
+        rates = new double[size][LEVELS];
+        current = new double[size];
+
+        int[] roadSizes = new int[26];
+        for (Position p : board)
+            if (p.isProperty())
+                roadSizes[p.getRoad() - 'A']++;
+        for (int r=0; r<26; r++)
+            roads[r] = new Position[roadSizes[r]];
+
+        for (int i=0; i<size; i++) {
+            Position p = board.get(i);
+            assert (p.getNumber() == i + 1) : "The board must be ordered by"
+                    + " position number.";
+
+            if (p.isProperty()) {
+                int r = p.getRoad() - 'A';
+                roads[r][--roadSizes[r]] = p;
+                for (int level=BASIC; level<LEVELS; level++)
+                    rates[i][level] = rentFor(p.getPrice(), level);
+            }
+
+            p.setRentTable(this);
+            update(p);
+        }
+    }
+
+
+    /**
+     * Calculate the rent of a property at a level of development.
+     *
+     * @param   price   the price of the property
+     * @param   level   the level of development, from <code>BASIC</code>
+     *                  to <code>HOTEL</code>
+     * @return  the rent charged for landing on the property
+     */
+    public static double rentFor(double price, int level){
+        assert (level >= BASIC && level < LEVELS) : "Not a level of development.";
+        double rent = 0;
+
+        // calculate rent if owner owns whole road (set/section)...
+        if (level >= FULL_SET) {
+            rent = 0.2 * price;
+
+            // ...and if owner owns a hotel on the property
+            if (level == HOTEL)
+                rent += 0.1 * ((4.0 * 0.5 * price) + (0.8 * price));
+
+            // ...and if owner owns improvements on the prpt
+            else if (level > FULL_SET)
+                rent += 0.1 * ((level - FULL_SET) * 0.5 * price);
+        } else {
+            // otherwise, basic rent is calculated
+            rent += 0.1 * price;
+        }
+
+        return rent;
+    }
+
+
+    /**
+     * @param   index   the index of a position on the board
+     * @param   level   the level of development
+     * @return  the rent of the position at that level of development
+     */
+    public double getRent(int index, int level){
+        return rates[index][level];
+    }
+
+
+    /**
+     * @param   index   the index of a position on the board
+     * @return  the rent currently charged for landing on the position,
+     *          or 0 if it has no owner
+     */
+    public double getCurrentRent(int index){
+        return current[index];
+    }
+
+
+    /**
+     * @param   p   a position on the board
+     * @return  the position's current level of development
+     */
+    public static int levelOf(Position p){
+        if (p.getOwner() == null || !p.getOwner().ownsAllPrptsOnRoad(p.getRoad()))
+            return BASIC;
+        if (p.isHotel())
+            return HOTEL;
+        return FULL_SET + (int) p.getImprovements();
+    }
+
+
+    /**
+     * Recalculate the current rent of every property, after the positions
+     * have been restored without being bought or improved.
+     */
+    protected void refresh(){
+        for (Position[] road : roads)
+            for (Position p : road) {
+                int i = p.getNumber() - 1;
+                current[i] = (p.getOwner() == null) ? 0 : rates[i][levelOf(p)];
+            }
+    }
+
+
+    /**
+     * Update the current rent of a position that has changed. If the change
+     * completed a road, every property on that road is updated.
+     *
+     * @param   p   the position that has been bought or improved
+     */
+    protected void update(Position p){
+        int index = p.getNumber() - 1;
+        if (!p.isProperty() || p.getOwner() == null) {
+            current[index] = 0;
+            return;
+        }
+
+        int level = levelOf(p);
+        if (level == FULL_SET) {
+            // the road may have just been completed
+            for (Position other : roads[p.getRoad() - 'A']) {
+                int i = other.getNumber() - 1;
+                current[i] = rates[i][levelOf(other)];
+            }
+        } else {
+            current[index] = rates[index][level];
+        }
+    }
+}
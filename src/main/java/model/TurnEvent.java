@@ -0,0 +1,190 @@
+package model;
+
+
+/**
+ * The TurnEvent class describes what happened during a turn of the Minipoly
+ * game, or during an action taken on a property, as plain data.
+ * <p>
+ * A move records the roll, the positions moved from and to, whether the
+ * player was sent from JAIL back to GO, and any rent paid to the owner of the
+ * position landed on. A buy or improve action records the property and what
+ * was paid for it. The human-readable description of the event is only built
+ * when <code>toString</code> is called, so callers that do not display text
+ * never pay for it.
+ * <p>
+ * Events are owned by the Model that produced them and are overwritten by its
+ * next turn or action, so that playing a game does not allocate an event per
+ * turn. A caller that needs to keep an event should keep its text or copy the
+ * values out of it.
+ *
+ * @author Marcus Lowndes
+ */
+public class TurnEvent {
+    /** Describes the kind of event. */
+    public enum Type {
+        MOVE,
+        BUY,
+        IMPROVE
+    }
+
+    private Type type;
+    private Player player;
+    private int roll;
+    private int from;
+    private int to;
+    private boolean jailed;
+    private double rent;
+    private Player payee;
+    private Position position;
+    private double cost;
+    private boolean hotel;
+
+    public Type getType() {
+        return type;
+    }
+
+    /** @return the player who moved, or who bought or improved a property.
+     *          For a move in which rent is paid, this player is the payer */
+    public Player getPlayer() {
+        return player;
+    }
+
+    public int getRoll() {
+        return roll;
+    }
+
+    /** @return the number of the position moved from */
+    public int getFrom() {
+        return from;
+    }
+
+    /** @return the number of the position the move ended on */
+    public int getTo() {
+        return to;
+    }
+
+    /** @return true if the player landed on JAIL and was sent back to GO */
+    public boolean isJailed() {
+        return jailed;
+    }
+
+    /** @return the rent paid during a move, or 0 if none was paid */
+    public double getRent() {
+        return rent;
+    }
+
+    /** @return the player who was paid rent during a move, or null if no
+     *          rent was paid */
+    public Player getPayee() {
+        return payee;
+    }
+
+    /** @return the position that was landed on, bought or improved */
+    public Position getPosition() {
+        return position;
+    }
+
+    /** @return the amount paid to buy or improve a property */
+    public double getCost() {
+        return cost;
+    }
+
+    /** @return true if the improvement made was a hotel */
+    public boolean isHotel() {
+        return hotel;
+    }
+
+
+    /**
+     * Record a move.
+     *
+     * @param   player      the player who moved
+     * @param   roll        the dice roll
+     * @param   from        the number of the position moved from
+     * @param   position    the position the move ended on
+     * @param   jailed      true if the player was sent from JAIL to GO
+     */
+    protected void setMove(Player player, int roll, int from,
+                           Position position, boolean jailed){
+        this.type = Type.MOVE;
+        this.player = player;
+        this.roll = roll;
+        this.from = from;
+        this.to = position.getNumber();
+        this.jailed = jailed;
+        this.position = position;
+        this.rent = 0;
+        this.payee = null;
+        this.cost = 0;
+        this.hotel = false;
+    }
+
+
+    /**
+     * Record the rent paid during the move that was last recorded.
+     *
+     * @param   rent    the rent paid
+     * @param   payee   the owner of the position, who was paid the rent
+     */
+    protected void setRent(double rent, Player payee){
+        assert (type == Type.MOVE) : "Rent can only be paid during a move.";
+        this.rent = rent;
+        this.payee = payee;
+    }
+
+
+    /**
+     * Record a property being bought or improved.
+     *
+     * @param   type        <code>BUY</code> or <code>IMPROVE</code>
+     * @param   player      the player who bought or improved the property
+     * @param   position    the property
+     * @param   cost        the amount paid
+     * @param   hotel       true if the improvement made was a hotel
+     */
+    protected void setAction(Type type, Player player, Position position,
+                             double cost, boolean hotel){
+        assert (type != Type.MOVE) : "A move is not an action on a property.";
+        this.type = type;
+        this.player = player;
+        this.position = position;
+        this.cost = cost;
+        this.hotel = hotel;
+        this.roll = 0;
+        this.from = position.getNumber();
+        this.to = position.getNumber();
+        this.jailed = false;
+        this.rent = 0;
+        this.payee = null;
+    }
+
+
+    /** @return a String representation of the event, as displayed to
+     *          the user */
+    @Override
+    public String toString(){
+        switch (type) {
+            case BUY:
+                return "" + position.nameToString() + " has been bought by "
+                        + player.toString() + " for \u00a3"
+                        + String.valueOf(cost) + "0";
+
+            case IMPROVE:
+                return player.toString() + " pays \u00a3" + String.valueOf(cost)
+                        + "0 to build a " + (hotel ? "hotel" : "house")
+                        + " at the property.";
+
+            default:
+                String s = (payee == null) ? "" :
+                        "\nThis position is owned by " + payee.toString()
+                        + ", therefore " + player.toString()
+                        + " is\ncharged \u00a3" + String.valueOf(rent)
+                        + "0 in rent.";
+
+                return player.toString() + " rolls " + String.valueOf(roll)
+                        + "\nMoving from Posn " + String.valueOf(from)
+                        + " to Posn " + (jailed ? "21 (JAIL)\nSent back to Posn " : "")
+                        + String.valueOf(to) + s;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package model.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import model.GameListener;
+import model.GameSnapshot;
+import model.Model;
+import model.Player;
+import model.Position;
+
+
+/**
+ * The GameJournal class records a Minipoly game to an append-only journal, so
+ * that the game can be audited and reproduced by <code>JournalReplay</code>.
+ * <p>
+ * Only the inputs of the game are recorded. The journal starts with a
+ * <code>GameSnapshot</code> of the game at the moment recording began, which
+ * includes the seed of the dice. After that comes one byte per input: each
+ * dice roll the game was played with, from 1-12, or <code>INTERACT</code>
+ * for each decision to buy or improve the current property. Everything else
+ * in the game follows from these inputs.
+ * <p>
+ * The journal listens to the game it records. Inputs are collected into
+ * batches on the game's thread, and full batches are handed to a
+ * <code>JournalWriter</code> to be written in the background.
+ *
+ * @author Marcus Lowndes
+ */
+public final class GameJournal implements GameListener, Closeable {
+    /** The magic number at the start of every journal, "MPJL". */
+    public static final int MAGIC = 0x4D504A4C;
+
+    /** The version of the journal format. */
+    public static final byte VERSION = 1;
+
+    /** The input recorded for a decision to buy or improve a property. */
+    public static final byte INTERACT = 0;
+
+    static final int HEADER_BYTES = 4 + 1;
+    private static final int BATCH_BYTES = 4096;
+
+    private final Model model;
+    private final WritableByteChannel out;
+    private final JournalWriter writer;
+    private ByteBuffer batch;
+    private Future<?> lastWrite;
+    private volatile IOException failure;
+
+
+    /**
+     * Start recording a game. The current state of the game is recorded
+     * immediately, so recording may start at any point in a game.
+     *
+     * @param   model   the game to record
+     * @param   out     the channel to write the journal to, which is
+     *                  closed when the journal is closed
+     * @param   writer  the background writer to write the journal with
+     */
+    public GameJournal(Model model, WritableByteChannel out, JournalWriter writer){
+        this.model = model;
+        this.out = out;
+        this.writer = writer;
+
+        batch = ByteBuffer.allocate(Math.max(BATCH_BYTES,
+                HEADER_BYTES + GameSnapshot.sizeOf(model)));
+        batch.putInt(MAGIC).put(VERSION);
+        GameSnapshot.write(model, batch);
+        model.addListener(this);
+    }
+
+
+    @Override
+    public void onPlayerMoved(Player player, int roll, int from, int to,
+                              boolean jailed){
+        record((byte) roll);
+    }
+
+    @Override
+    public void onOwnershipChanged(Position position, Player owner){
+        record(INTERACT);
+    }
+
+    @Override
+    public void onImprovementAdded(Position position){
+        record(INTERACT);
+    }
+
+
+    /** @param  input   the input to append to the journal */
+    private void record(byte input){
+        if (!batch.hasRemaining())
+            submit();
+        batch.put(input);
+    }
+
+
+    /** Hand the current batch to the background writer, and start a new one. */
+    private void submit(){
+        ByteBuffer full = batch;
+        full.flip();
+        batch = ByteBuffer.allocate(BATCH_BYTES);
+        lastWrite = writer.submit(() -> write(full));
+    }
+
+
+    /** Write a batch to the channel, on the background writer's thread. */
+    private void write(ByteBuffer full){
+        if (failure != null)
+            return;
+        try {
+            while (full.hasRemaining())
+                out.write(full);
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+
+    /**
+     * Write everything recorded so far, and wait for it to be written.
+     *
+     * @throws  IOException if any part of the journal could not be written
+     */
+    public void flush() throws IOException {
+        if (batch.position() > 0)
+            submit();
+
+        if (lastWrite != null) {
+            try {
+                lastWrite.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while writing"
+                        + " the journal.");
+            } catch (ExecutionException e) {
+                throw new IOException("The journal could not be written.",
+                        e.getCause());
+            }
+        }
+
+        if (failure != null)
+            throw failure;
+    }
+
+
+    /**
+     * Stop recording the game, write everything recorded and close the
+     * channel.
+     *
+     * @throws  IOException if any part of the journal could not be written
+     */
+    @Override
+    public void close() throws IOException {
+        model.removeListener(this);
+        try {
+            flush();
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package model.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import model.GameSnapshot;
+import model.Model;
+
+
+/**
+ * The JournalReplay class rebuilds a Minipoly game from a journal recorded
+ * by <code>GameJournal</code>.
+ * <p>
+ * The game is restored from the snapshot at the start of the journal, and
+ * then every recorded input is applied to it in turn. The replayed game has
+ * no listeners and the text of its turns is never built, so a replay runs at
+ * the full speed of the Model.
+ *
+ * @author Marcus Lowndes
+ */
+public final class JournalReplay {
+    private JournalReplay(){
+    }
+
+
+    /**
+     * Replay a whole journal read from a file through a memory-mapped buffer.
+     *
+     * @param   file    the journal file
+     * @return  the game, in its state at the end of the journal
+     * @throws  IOException if the file cannot be read
+     * @throws  IllegalArgumentException if the file is not a valid journal
+     */
+    public static Model replay(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            return replay(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()));
+        }
+    }
+
+
+    /**
+     * Replay a whole journal read from a buffer.
+     *
+     * @param   journal the journal, from its current position to its limit
+     * @return  the game, in its state at the end of the journal
+     * @throws  IllegalArgumentException if the buffer is not a valid journal
+     */
+    public static Model replay(ByteBuffer journal){
+        Model model = new Model();
+        replay(journal, model, Integer.MAX_VALUE);
+        return model;
+    }
+
+
+    /**
+     * Replay the first turns of a journal into a game, along with the
+     * decisions taken during those turns, to rebuild the game as it was at
+     * any point.
+     *
+     * @param   journal the journal, from its current position to its limit.
+     *                  It is left positioned after the last input replayed
+     * @param   model   the game to replay into, whose previous state is
+     *                  replaced. It should have no listeners attached
+     * @param   turns   the number of turns to replay
+     * @return  the number of turns replayed, which is less than
+     *          <code>turns</code> if the journal ends first
+     * @throws  IllegalArgumentException if the buffer is not a valid journal
+     */
+    public static int replay(ByteBuffer journal, Model model, int turns){
+        if (journal.remaining() < GameJournal.HEADER_BYTES
+                || journal.getInt() != GameJournal.MAGIC)
+            throw new IllegalArgumentException("Not a Minipoly game journal.");
+        byte version = journal.get();
+        if (version != GameJournal.VERSION)
+            throw new IllegalArgumentException("Unsupported journal version "
+                    + version + ".");
+        GameSnapshot.read(journal, model);
+
+        int replayed = 0;
+        while (journal.hasRemaining()) {
+            int input = journal.get(journal.position());
+
+            if (input == GameJournal.INTERACT) {
+                if (!model.isCurrentPosnBuyable() && !model.isCurrentPosnImprovable())
+                    throw new IllegalArgumentException("Input "
+                            + journal.position() + " of the journal is not a"
+                            + " valid decision.");
+                model.interactCurrentPrpt();
+            }
+            else if (input > 0 && input < 13) {
+                if (replayed == turns)
+                    break;
+                model.nextTurn(input);
+                replayed++;
+            }
+            else
+                throw new IllegalArgumentException("Input " + journal.position()
+                        + " of the journal is corrupt.");
+
+            journal.position(journal.position() + 1);
+        }
+        return replayed;
+    }
+}
@@ -0,0 +1,58 @@
+package model.journal;
+
+import java.io.Closeable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * The JournalWriter class is a single background thread that writes the
+ * batches of recorded game inputs for any number of <code>GameJournal</code>s.
+ * <p>
+ * Batches are written in the order that they are submitted, so each journal's
+ * batches reach its channel in order, while the games being recorded never
+ * wait for a channel to be written to.
+ *
+ * @author Marcus Lowndes
+ */
+public final class JournalWriter implements Closeable {
+    private final ExecutorService executor;
+
+    /** Construct a writer, and start its background thread. */
+    public JournalWriter(){
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "minipoly-journal-writer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+
+    /**
+     * @param   write   the writing of a batch to a journal's channel
+     * @return  the pending write
+     */
+    Future<?> submit(Runnable write){
+        return executor.submit(write);
+    }
+
+
+    /**
+     * Finish writing every batch that has been submitted, then stop the
+     * background thread. The journals using this writer should be closed
+     * first, so that their last batches are submitted.
+     */
+    @Override
+    public void close(){
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                // keep waiting for the last batches to be written
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
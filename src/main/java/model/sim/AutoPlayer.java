@@ -0,0 +1,171 @@
+package model.sim;
+
+import java.util.List;
+import model.Model;
+import model.Player;
+import model.Position;
+import model.RentTable;
+import model.TurnEvent;
+
+
+/**
+ * The AutoPlayer class plays either or both seats of a Minipoly game Model
+ * automatically, making each player's decisions to buy and improve with a
+ * <code>Strategy</code>.
+ * <p>
+ * A seat without a strategy is left to be played by a person, so an
+ * AutoPlayer can also play the opponent of a human player. The decisions
+ * are described to the strategies in exactly the same way as in a
+ * <code>SimGame</code>, so a strategy plays the same in either.
+ *
+ * @author Marcus Lowndes
+ */
+public final class AutoPlayer {
+    private final Model model;
+    private final SimBoard board;
+    private final Strategy playerOne;
+    private final Strategy playerTwo;
+    private final Decision decision = new Decision();
+
+
+    /**
+     * Construct an automatic player for a game.
+     *
+     * @param   model       the game to play
+     * @param   playerOne   the strategy of Player 1, or null if Player 1 is
+     *                      not played automatically
+     * @param   playerTwo   the strategy of Player 2, or null if Player 2 is
+     *                      not played automatically
+     */
+    public AutoPlayer(Model model, Strategy playerOne, Strategy playerTwo){
+        this.model = model;
+        this.board = SimBoard.of(model.getBoard());
+        this.playerOne = playerOne;
+        this.playerTwo = playerTwo;
+    }
+
+
+    /** @return the strategy of the current player, or null if they are
+     *          not played automatically */
+    private Strategy currentStrategy(){
+        return (model.getCurrentPlayer() == model.getPlayerOne()) ?
+                playerOne : playerTwo;
+    }
+
+
+    /** @return true if the current player is played automatically */
+    public boolean isCurrentPlayerAutomatic(){
+        return currentStrategy() != null;
+    }
+
+
+    /**
+     * Let the current player buy and improve their position for as long as
+     * their strategy decides to, once they have moved.
+     *
+     * @return  the number of actions taken, which is 0 if the current player
+     *          is not played automatically
+     */
+    public int decide(){
+        Strategy strategy = currentStrategy();
+        if (strategy == null)
+            return 0;
+
+        int actions = 0;
+        while (!model.isGameOver()
+                && (model.isCurrentPosnBuyable() || model.isCurrentPosnImprovable())) {
+            describe(decision);
+            if (!strategy.decide(decision))
+                break;
+            model.interactCurrentPrpt();
+            actions++;
+        }
+        return actions;
+    }
+
+
+    /**
+     * Play the next turn with the dice, followed by the decisions of the
+     * player who moved, if they are played automatically.
+     *
+     * @return  the move made by the player
+     */
+    public TurnEvent playTurn(){
+        TurnEvent move = model.nextTurn();
+        if (!model.isGameOver())
+            decide();
+        return move;
+    }
+
+
+    /**
+     * Play turns until a player runs out of money or the turn limit is
+     * reached. Both seats should be played automatically.
+     *
+     * @param   maxTurns    the maximum number of turns to play
+     * @return  the number of turns played
+     */
+    public int playOut(int maxTurns){
+        int turns = 0;
+        while (turns < maxTurns && !model.isGameOver()) {
+            playTurn();
+            turns++;
+        }
+        return turns;
+    }
+
+
+    /**
+     * Describe the choice faced by the current player, in the same way as
+     * <code>SimGame</code> does.
+     *
+     * @param   d   the decision to fill in
+     * @pre     the current player's position is buyable or improvable
+     */
+    private void describe(Decision d){
+        List<Position> positions = model.getBoard();
+        RentTable rents = model.getRentTable();
+        Player player = model.getCurrentPlayer();
+        Player other = (player == model.getPlayerOne()) ?
+                model.getPlayerTwo() : model.getPlayerOne();
+
+        int posn = player.getPositionIndex();
+        Position p = positions.get(posn);
+        int road = board.road[posn];
+        boolean buy = p.getOwner() == null;
+        int houses = (int) p.getImprovements();
+        double cost = buy ? p.getPrice()
+                : (houses == 4) ? 0.8 * p.getPrice() : 0.5 * p.getPrice();
+
+        int owned = 0;
+        boolean blocked = false;
+        for (int q : board.roadPositions[road]) {
+            Player o = positions.get(q).getOwner();
+            if (o == player)
+                owned++;
+            else if (o == other)
+                blocked = true;
+        }
+
+        d.set(buy, posn, road, cost, player.getMoney(), other.getMoney(),
+                owned, board.roadSize[road], blocked, houses);
+
+        if (!buy) {
+            int next = (houses == 4) ? SimGame.HOTEL : houses + 1;
+            d.addRentGain(rents.getRent(posn, RentTable.FULL_SET + next)
+                    - rents.getRent(posn, RentTable.FULL_SET + houses),
+                    board.landing[posn]);
+        }
+        else if (owned + 1 == board.roadSize[road]) {
+            // buying the last property on the road raises the rent of them all
+            for (int q : board.roadPositions[road]) {
+                double before = (q == posn) ? 0 : rents.getRent(q, RentTable.BASIC);
+                int level = RentTable.FULL_SET
+                        + (int) positions.get(q).getImprovements();
+                d.addRentGain(rents.getRent(q, level) - before, board.landing[q]);
+            }
+        }
+        else
+            d.addRentGain(rents.getRent(posn, RentTable.BASIC), board.landing[posn]);
+    }
+}
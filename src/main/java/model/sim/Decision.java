@@ -0,0 +1,142 @@
+package model.sim;
+
+
+/**
+ * The Decision class describes a choice faced by a player whose position can
+ * be bought or improved, for a <code>Strategy</code> to decide.
+ * <p>
+ * As well as the action on offer and its cost, the decision describes the
+ * state of the road that the position is on and the rent that the action
+ * would gain. The rent gained includes the rent of every property on the
+ * road whose rent would rise, such as when buying a property completes the
+ * road. A decision is filled in afresh by the game for every choice, and a
+ * single instance is reused for every decision in a game, so deciding never
+ * allocates. A strategy must not keep a decision once it has decided.
+ *
+ * @author Marcus Lowndes
+ */
+public final class Decision {
+    private boolean buy;
+    private int index;
+    private int road;
+    private double cost;
+    private double money;
+    private double opponentMoney;
+    private int ownedOnRoad;
+    private int roadSize;
+    private boolean roadBlocked;
+    private int houses;
+    private double rentGain;
+    private double expectedRentGain;
+
+    /** @return true if the position can be bought, or false if it can
+     *          be improved */
+    public boolean isBuy() {
+        return buy;
+    }
+
+    /** @return the index of the position on the board */
+    public int getIndex() {
+        return index;
+    }
+
+    /** @return the index of the road that the position is on ('A' is 0) */
+    public int getRoad() {
+        return road;
+    }
+
+    /** @return the cost of buying or improving the position */
+    public double getCost() {
+        return cost;
+    }
+
+    /** @return the money held by the deciding player */
+    public double getMoney() {
+        return money;
+    }
+
+    /** @return the money held by the deciding player's opponent */
+    public double getOpponentMoney() {
+        return opponentMoney;
+    }
+
+    /** @return the number of properties on the road that the deciding
+     *          player already owns */
+    public int getOwnedOnRoad() {
+        return ownedOnRoad;
+    }
+
+    /** @return the number of properties on the road */
+    public int getRoadSize() {
+        return roadSize;
+    }
+
+    /** @return true if the opponent owns a property on the road, so that
+     *          the deciding player can never complete it */
+    public boolean isRoadBlocked() {
+        return roadBlocked;
+    }
+
+    /** @return the number of houses on the position, from 0-4. Improving
+     *          a position with 4 houses builds a hotel */
+    public int getHouses() {
+        return houses;
+    }
+
+    /** @return the total rise in rent of the road's properties if the
+     *          action is taken */
+    public double getRentGain() {
+        return rentGain;
+    }
+
+    /** @return the rise in rent expected to be collected per turn of the
+     *          opponent, weighting each property's rise by the long-run
+     *          probability of landing on it */
+    public double getExpectedRentGain() {
+        return expectedRentGain;
+    }
+
+
+    /**
+     * Describe the next decision.
+     *
+     * @param   buy             true if the position can be bought
+     * @param   index           the index of the position
+     * @param   road            the index of the position's road
+     * @param   cost            the cost of the action
+     * @param   money           the deciding player's money
+     * @param   opponentMoney   the opponent's money
+     * @param   ownedOnRoad     the properties on the road already owned
+     * @param   roadSize        the properties on the road
+     * @param   roadBlocked     true if the opponent owns part of the road
+     * @param   houses          the houses on the position
+     */
+    void set(boolean buy, int index, int road, double cost, double money,
+             double opponentMoney, int ownedOnRoad, int roadSize,
+             boolean roadBlocked, int houses){
+        this.buy = buy;
+        this.index = index;
+        this.road = road;
+        this.cost = cost;
+        this.money = money;
+        this.opponentMoney = opponentMoney;
+        this.ownedOnRoad = ownedOnRoad;
+        this.roadSize = roadSize;
+        this.roadBlocked = roadBlocked;
+        this.houses = houses;
+        rentGain = 0;
+        expectedRentGain = 0;
+    }
+
+
+    /**
+     * Add the rise in rent of one property to the decision.
+     *
+     * @param   gain        the rise in the property's rent
+     * @param   landing     the long-run probability of landing on it
+     */
+    void addRentGain(double gain, double landing){
+        rentGain += gain;
+        expectedRentGain += gain * landing;
+    }
+}
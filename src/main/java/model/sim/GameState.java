@@ -0,0 +1,470 @@
+package model.sim;
+
+import java.util.Arrays;
+import java.util.List;
+import model.DiceRoller;
+import model.Model;
+import model.Player;
+import model.Position;
+import model.RentTable;
+
+
+/**
+ * A compact, copyable state of a Minipoly game, for searching ahead through
+ * possible moves.
+ * <p>
+ * The state is held in a few small primitive arrays indexed by board
+ * position, with no references between positions and players, so a copy is
+ * a handful of array copies into another state, which allocates nothing once
+ * the copy exists. Moves are applied with the same rules as
+ * <code>Model.nextTurn(int)</code> and <code>Model.interactCurrentPrpt</code>,
+ * and every move applied can be undone, most recent first, so a search can
+ * also walk a single state down and back up its tree of moves.
+ * <p>
+ * Each state keeps a Zobrist hash, which is updated as every purchase,
+ * improvement, move and payment of rent is applied, so that a search can
+ * recognise a state it has already evaluated in a
+ * <code>TranspositionTable</code>.
+ * <p>
+ * A state is not thread-safe, but any number of states may share a
+ * <code>SimBoard</code>.
+ *
+ * @author Marcus Lowndes
+ */
+public final class GameState {
+    /** The owner of a position that has no owner. */
+    public static final int NO_OWNER = -1;
+
+    /** The improvement level of a property with a hotel built on it. */
+    public static final int HOTEL = SimGame.HOTEL;
+
+    private static final double STARTING_MONEY = 2000.00;
+
+    private static final int TURN = 0, INTERACT = 1;
+
+    /** The ints and doubles pushed onto the undo stacks for each move. */
+    private static final int UNDO_INTS = 4, UNDO_DOUBLES = 2;
+
+    private final SimBoard board;
+    private final Zobrist keys;
+
+    final byte[] owner;
+    final byte[] level;
+    final int[] ownedOnRoad = new int[2 * 26];
+    final int[] position = new int[2];
+    final double[] money = new double[2];
+    int current;
+    boolean firstTurn;
+    private long hash;
+
+    private int[] undoInts = new int[16 * UNDO_INTS];
+    private double[] undoDoubles = new double[16 * UNDO_DOUBLES];
+    private long[] undoHashes = new long[16];
+    private int depth;
+
+
+    /**
+     * Construct a game state at the opening of a game.
+     *
+     * @param   board   the board that the game is played on
+     */
+    public GameState(SimBoard board){
+        this.board = board;
+        this.keys = board.zobrist;
+        owner = new byte[board.size];
+        level = new byte[board.size];
+        Arrays.fill(owner, (byte) NO_OWNER);
+        money[0] = STARTING_MONEY;
+        money[1] = STARTING_MONEY;
+        firstTurn = true;
+        hash = keys.hash(this);
+    }
+
+
+    /**
+     * @param   model   a game
+     * @param   board   the game's board, as made by
+     *                  <code>SimBoard.of(model.getBoard())</code>
+     * @return  the current state of the game
+     */
+    public static GameState of(Model model, SimBoard board){
+        GameState state = new GameState(board);
+        List<Position> positions = model.getBoard();
+        Player playerOne = model.getPlayerOne();
+
+        for (int i=0; i<board.size; i++) {
+            Position p = positions.get(i);
+            if (p.getOwner() == null)
+                continue;
+
+            int o = (p.getOwner() == playerOne) ? 0 : 1;
+            state.owner[i] = (byte) o;
+            state.level[i] = (byte) (p.isHotel() ? HOTEL : (int) p.getImprovements());
+            state.ownedOnRoad[o * 26 + board.road[i]]++;
+        }
+
+        state.position[0] = playerOne.getPositionIndex();
+        state.position[1] = model.getPlayerTwo().getPositionIndex();
+        state.money[0] = playerOne.getMoney();
+        state.money[1] = model.getPlayerTwo().getMoney();
+        state.current = (model.getCurrentPlayer() == playerOne) ? 0 : 1;
+        state.firstTurn = model.isFirstTurn();
+        state.hash = state.keys.hash(state);
+        return state;
+    }
+
+
+    /** @return a copy of this state, without its history of moves */
+    public GameState copy(){
+        GameState copy = new GameState(board);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+
+    /**
+     * Make this state a copy of another, without its history of moves.
+     *
+     * @param   other   a state of a game on the same board
+     */
+    public void copyFrom(GameState other){
+        assert (other.board == board) : "The states must share a board.";
+
+        System.arraycopy(other.owner, 0, owner, 0, owner.length);
+        System.arraycopy(other.level, 0, level, 0, level.length);
+        System.arraycopy(other.ownedOnRoad, 0, ownedOnRoad, 0, ownedOnRoad.length);
+        position[0] = other.position[0];
+        position[1] = other.position[1];
+        money[0] = other.money[0];
+        money[1] = other.money[1];
+        current = other.current;
+        firstTurn = other.firstTurn;
+        hash = other.hash;
+        depth = 0;
+    }
+
+
+    /**
+     * Apply a turn: swap the current player, unless it is the first turn,
+     * move them along the board by <code>roll</code> positions and charge any
+     * rent owed for the position landed on.
+     *
+     * @param   roll    the total of the dice
+     * @pre     roll must be in the range of 1-12
+     */
+    public void applyTurn(int roll){
+        assert (roll > 0 && roll < 13) : "This is not a valid roll.";
+        int mover = firstTurn ? current : current ^ 1;
+        push(TURN, current, firstTurn ? 1 : 0, position[mover]);
+
+        if (firstTurn)
+            hash ^= keys.firstTurn;
+        else {
+            current ^= 1;
+            hash ^= keys.playerTwo;
+        }
+
+        int from = position[current];
+        int posn = board.resolve((from + roll) % board.size);
+        position[current] = posn;
+        hash ^= keys.position(current, from) ^ keys.position(current, posn);
+
+        int o = owner[posn];
+        if (o != NO_OWNER && o != current) {
+            double rent = rent(posn);
+            addMoney(current, -rent);
+            addMoney(o, rent);
+        }
+        firstTurn = false;
+    }
+
+
+    /**
+     * Apply an action: buy the current player's position if it has no
+     * owner, otherwise add an improvement to it.
+     *
+     * @pre the current player's position is buyable or improvable
+     */
+    public void applyInteract(){
+        assert (isBuyable() || isImprovable()) :
+                "This position is not buyable or improvable.";
+
+        int posn = position[current];
+        push(INTERACT, posn, owner[posn], level[posn]);
+        double price = board.price[posn];
+
+        if (owner[posn] == NO_OWNER) {
+            addMoney(current, -price);
+            owner[posn] = (byte) current;
+            ownedOnRoad[current * 26 + board.road[posn]]++;
+            hash ^= keys.property(posn, current, 0);
+        }
+        else {
+            int houses = level[posn];
+            if (houses == 4) {
+                addMoney(current, -(0.8 * price));
+                level[posn] = HOTEL;
+            }
+            else {
+                addMoney(current, -(0.5 * price));
+                level[posn]++;
+            }
+            hash ^= keys.property(posn, current, houses)
+                    ^ keys.property(posn, current, level[posn]);
+        }
+    }
+
+
+    /**
+     * Undo the most recent move that has not been undone.
+     *
+     * @pre a move has been applied since this state was made or copied
+     */
+    public void undo(){
+        assert (depth > 0) : "There is no move to undo.";
+        depth--;
+        int i = depth * UNDO_INTS;
+        int d = depth * UNDO_DOUBLES;
+
+        if (undoInts[i] == TURN) {
+            // the player who moved is the current player
+            position[current] = undoInts[i + 3];
+            current = undoInts[i + 1];
+            firstTurn = undoInts[i + 2] != 0;
+        }
+        else {
+            int posn = undoInts[i + 1];
+            if (undoInts[i + 2] == NO_OWNER)
+                ownedOnRoad[owner[posn] * 26 + board.road[posn]]--;
+            owner[posn] = (byte) undoInts[i + 2];
+            level[posn] = (byte) undoInts[i + 3];
+        }
+
+        money[0] = undoDoubles[d];
+        money[1] = undoDoubles[d + 1];
+        hash = undoHashes[depth];
+    }
+
+
+    /**
+     * Add money to a player, which is negative for a payment, updating the
+     * hash if their money moves into another bucket.
+     */
+    private void addMoney(int player, double amount){
+        int before = Zobrist.bucket(money[player]);
+        money[player] += amount;
+        int after = Zobrist.bucket(money[player]);
+        if (before != after)
+            hash ^= keys.money(player, before) ^ keys.money(player, after);
+    }
+
+
+    /**
+     * Play on from this state until a player runs out of money or the turn
+     * limit is reached, starting with the next turn, with each player's
+     * decisions made by a strategy. The moves played can be undone.
+     *
+     * @param   dice        the source of the dice rolls
+     * @param   maxTurns    the maximum number of turns to play
+     * @param   playerOne   the strategy of Player 1
+     * @param   playerTwo   the strategy of Player 2
+     * @param   decision    the decision to reuse for every choice
+     */
+    public void playOut(DiceRoller dice, int maxTurns, Strategy playerOne,
+                        Strategy playerTwo, Decision decision){
+        for (int t=0; t<maxTurns && !isGameOver(); t++) {
+            applyTurn(dice.roll());
+            if (isGameOver())
+                break;
+
+            Strategy strategy = (current == 0) ? playerOne : playerTwo;
+            while (isBuyable() || isImprovable()) {
+                describe(decision);
+                if (!strategy.decide(decision))
+                    break;
+                applyInteract();
+                if (isGameOver())
+                    break;
+            }
+        }
+    }
+
+
+    /**
+     * Describe the choice faced by the current player, in the same way as
+     * <code>SimGame</code> does.
+     *
+     * @param   d   the decision to fill in
+     * @pre     the current player's position is buyable or improvable
+     */
+    public void describe(Decision d){
+        int posn = position[current];
+        int road = board.road[posn];
+        int other = current ^ 1;
+        double price = board.price[posn];
+        boolean buy = owner[posn] == NO_OWNER;
+        int houses = level[posn];
+        double cost = buy ? price : (houses == 4) ? 0.8 * price : 0.5 * price;
+
+        d.set(buy, posn, road, cost, money[current], money[other],
+                ownedOnRoad[current * 26 + road], board.roadSize[road],
+                ownedOnRoad[other * 26 + road] > 0, houses);
+
+        if (!buy) {
+            int next = (houses == 4) ? HOTEL : houses + 1;
+            d.addRentGain(rate(posn, RentTable.FULL_SET + next)
+                    - rate(posn, RentTable.FULL_SET + houses), board.landing[posn]);
+        }
+        else if (ownedOnRoad[current * 26 + road] + 1 == board.roadSize[road]) {
+            // buying the last property on the road raises the rent of them all
+            for (int q : board.roadPositions[road]) {
+                double before = (q == posn) ? 0 : rate(q, RentTable.BASIC);
+                d.addRentGain(rate(q, RentTable.FULL_SET + level[q]) - before,
+                        board.landing[q]);
+            }
+        }
+        else
+            d.addRentGain(rate(posn, RentTable.BASIC), board.landing[posn]);
+    }
+
+
+    /**
+     * @param   player  a player
+     * @return  the player's money plus everything they have spent on
+     *          properties and improvements
+     */
+    public double getWorth(int player){
+        double worth = money[player];
+        for (int i=0; i<owner.length; i++) {
+            if (owner[i] != player)
+                continue;
+
+            double price = board.price[i];
+            worth += price;
+            worth += (level[i] == HOTEL) ? (4 * 0.5 * price) + (0.8 * price)
+                    : level[i] * 0.5 * price;
+        }
+        return worth;
+    }
+
+
+    /** Record what is needed to undo the move about to be applied. */
+    private void push(int move, int a, int b, int c){
+        if ((depth + 1) * UNDO_INTS > undoInts.length) {
+            undoInts = Arrays.copyOf(undoInts, undoInts.length * 2);
+            undoDoubles = Arrays.copyOf(undoDoubles, undoDoubles.length * 2);
+            undoHashes = Arrays.copyOf(undoHashes, undoHashes.length * 2);
+        }
+
+        int i = depth * UNDO_INTS;
+        undoInts[i] = move;
+        undoInts[i + 1] = a;
+        undoInts[i + 2] = b;
+        undoInts[i + 3] = c;
+        undoDoubles[depth * UNDO_DOUBLES] = money[0];
+        undoDoubles[depth * UNDO_DOUBLES + 1] = money[1];
+        undoHashes[depth] = hash;
+        depth++;
+    }
+
+
+    /** @return the rent charged for landing on an owned property */
+    private double rent(int posn){
+        int rentLevel = ownsRoad(owner[posn], board.road[posn]) ?
+                RentTable.FULL_SET + level[posn] : RentTable.BASIC;
+        return rate(posn, rentLevel);
+    }
+
+
+    /** @return the rent of a position at a level of development */
+    private double rate(int posn, int rentLevel){
+        return board.rent[posn * RentTable.LEVELS + rentLevel];
+    }
+
+
+    /** @return true if <code>player</code> owns every property on
+     *          <code>road</code> */
+    private boolean ownsRoad(int player, int road){
+        return ownedOnRoad[player * 26 + road] == board.roadSize[road];
+    }
+
+
+    /** @return true if the current player can buy their position */
+    public boolean isBuyable(){
+        int posn = position[current];
+        return board.property[posn] && owner[posn] == NO_OWNER;
+    }
+
+
+    /** @return true if the current player can improve their position */
+    public boolean isImprovable(){
+        int posn = position[current];
+        return board.property[posn]
+                && ownsRoad(current, board.road[posn])
+                && level[posn] != HOTEL;
+    }
+
+
+    /** @return true if a player has run out of money */
+    public boolean isGameOver(){
+        return money[0] <= 0 || money[1] <= 0;
+    }
+
+
+    /** @return the index of the winning player, or
+     *          <code>SimResult.NO_WINNER</code> if the game is not over */
+    public int getWinner(){
+        if (!isGameOver())
+            return SimResult.NO_WINNER;
+        return (money[0] <= 0) ? 1 : 0;
+    }
+
+
+    /** @return the board that the game is played on */
+    public SimBoard getBoard(){
+        return board;
+    }
+
+    /** @return the index of the player whose turn it is */
+    public int getCurrentPlayer(){
+        return current;
+    }
+
+    /** @return true if no turn has been taken yet */
+    public boolean isFirstTurn(){
+        return firstTurn;
+    }
+
+    /** @return the board index of a player's counter */
+    public int getPosition(int player){
+        return position[player];
+    }
+
+    /** @return the money held by a player */
+    public double getMoney(int player){
+        return money[player];
+    }
+
+    /** @return the index of the player who owns a position, or
+     *          <code>NO_OWNER</code> */
+    public int getOwner(int index){
+        return owner[index];
+    }
+
+    /** @return the number of houses on a position, or <code>HOTEL</code>
+     *          if it has a hotel */
+    public int getLevel(int index){
+        return level[index];
+    }
+
+    /** @return the Zobrist hash of this state, which is the same for
+     *          states that differ only within a bucket of money */
+    public long getHash(){
+        return hash;
+    }
+
+    /** @return the number of moves that can be undone */
+    public int getDepth(){
+        return depth;
+    }
+}
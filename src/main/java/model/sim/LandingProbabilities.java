@@ -0,0 +1,197 @@
+package model.sim;
+
+import java.util.Arrays;
+
+
+/**
+ * The LandingProbabilities class calculates how likely a player is to end a
+ * turn on each position of a board, treating the moves of a player as a
+ * Markov chain rather than playing games.
+ * <p>
+ * A turn moves a player along by the roll of two six-sided dice, so from
+ * each position there are 11 possible moves, and a move that lands on JAIL
+ * ends on the position that JAIL sends the player to. The chain is held as a
+ * table of those moves rather than as a matrix, so each step of the chain
+ * takes time in proportion to the size of the board. The distribution after
+ * any number of turns is found by stepping the chain that many times, and
+ * the long-run distribution by power iteration until it stops changing.
+ * Because every roll from 2 to 12 is possible, the chain is aperiodic and
+ * power iteration always converges.
+ * <p>
+ * The chain of a game's board is built from
+ * <code>SimBoard.of(model.getBoard())</code>, and boards of any other size
+ * can be described directly by their size and the position of JAIL.
+ *
+ * @author Marcus Lowndes
+ */
+public final class LandingProbabilities {
+    /** The smallest and largest rolls of two six-sided dice. */
+    private static final int MIN_ROLL = 2, MAX_ROLL = 12;
+    private static final int ROLLS = MAX_ROLL - MIN_ROLL + 1;
+
+    /** The largest total change between iterations at which the long-run
+     *  distribution is taken to have converged. */
+    public static final double DEFAULT_TOLERANCE = 1e-15;
+
+    /** The most iterations made while looking for the long-run distribution. */
+    public static final int DEFAULT_MAX_ITERATIONS = 100000;
+
+    private static final double[] ROLL_PROBABILITY = new double[ROLLS];
+    static {
+        for (int r=MIN_ROLL; r<=MAX_ROLL; r++)
+            ROLL_PROBABILITY[r - MIN_ROLL] = (6 - Math.abs(r - 7)) / 36.0;
+    }
+
+    private final int size;
+    private final int[] destination;
+
+
+    /**
+     * Construct the chain of a board used by the simulation engine.
+     *
+     * @param   board   the board
+     */
+    public LandingProbabilities(SimBoard board){
+        this(board.size, board.jail, board.jailDestination);
+    }
+
+
+    /**
+     * Construct the chain of a board of any size.
+     *
+     * @param   size            the number of positions on the board
+     * @param   jail            the index of the position that sends a player
+     *                          elsewhere, or -1 if there is none
+     * @param   jailDestination the index of the position a player on
+     *                          <code>jail</code> is sent to
+     * @pre     the board must have at least one position, and both indices
+     *          must be on the board
+     */
+    public LandingProbabilities(int size, int jail, int jailDestination){
+        assert (size > 0) : "The board must have a position.";
+        assert (jail < size && (jail < 0 || (jailDestination >= 0
+                && jailDestination < size))) : "JAIL must be on the board.";
+
+        this.size = size;
+        destination = new int[size * ROLLS];
+        for (int i=0; i<size; i++)
+            for (int r=MIN_ROLL; r<=MAX_ROLL; r++) {
+                int to = (i + r) % size;
+                destination[i * ROLLS + r - MIN_ROLL] =
+                        (to == jail) ? jailDestination : to;
+            }
+    }
+
+
+    /**
+     * @param   roll    a roll of two six-sided dice
+     * @return  the probability of rolling that total
+     */
+    public static double rollProbability(int roll){
+        return (roll < MIN_ROLL || roll > MAX_ROLL) ? 0
+                : ROLL_PROBABILITY[roll - MIN_ROLL];
+    }
+
+
+    /** @return the number of positions on the board */
+    public int size(){
+        return size;
+    }
+
+
+    /**
+     * Make one turn of the chain.
+     *
+     * @param   from    the probability of being on each position
+     * @param   to      filled with the probability of being on each position
+     *                  after one more turn
+     */
+    private void step(double[] from, double[] to){
+        Arrays.fill(to, 0);
+        for (int i=0; i<size; i++) {
+            double p = from[i];
+            if (p == 0)
+                continue;
+
+            int base = i * ROLLS;
+            for (int r=0; r<ROLLS; r++)
+                to[destination[base + r]] += p * ROLL_PROBABILITY[r];
+        }
+    }
+
+
+    /**
+     * @param   turns   the number of turns taken by a player starting on GO
+     * @return  the probability of the player being on each position, by
+     *          index, after that many turns
+     */
+    public double[] afterTurns(int turns){
+        double[] start = new double[size];
+        start[0] = 1;
+        return afterTurns(start, turns);
+    }
+
+
+    /**
+     * @param   start   the probability of the player starting on each
+     *                  position, by index
+     * @param   turns   the number of turns taken
+     * @pre     turns must not be negative
+     * @return  the probability of the player being on each position, by
+     *          index, after that many turns
+     */
+    public double[] afterTurns(double[] start, int turns){
+        assert (start.length == size) : "There must be a probability for"
+                + " every position.";
+        assert (turns >= 0) : "A player cannot take a negative number of turns.";
+
+        double[] current = start.clone();
+        double[] next = new double[size];
+        for (int t=0; t<turns; t++) {
+            step(current, next);
+            double[] swap = current;
+            current = next;
+            next = swap;
+        }
+        return current;
+    }
+
+
+    /** @return the long-run probability of ending a turn on each position,
+     *          by index */
+    public double[] steadyState(){
+        return steadyState(DEFAULT_TOLERANCE, DEFAULT_MAX_ITERATIONS);
+    }
+
+
+    /**
+     * Find the long-run probability of ending a turn on each position, by
+     * power iteration from an even spread over the board.
+     *
+     * @param   tolerance       the largest total change between iterations
+     *                          at which the distribution has converged
+     * @param   maxIterations   the most iterations to make
+     * @return  the long-run probability of ending a turn on each position,
+     *          by index
+     */
+    public double[] steadyState(double tolerance, int maxIterations){
+        double[] current = new double[size];
+        Arrays.fill(current, 1.0 / size);
+        double[] next = new double[size];
+
+        for (int t=0; t<maxIterations; t++) {
+            step(current, next);
+
+            double change = 0;
+            for (int i=0; i<size; i++)
+                change += Math.abs(next[i] - current[i]);
+
+            double[] swap = current;
+            current = next;
+            next = swap;
+            if (change <= tolerance)
+                break;
+        }
+        return current;
+    }
+}
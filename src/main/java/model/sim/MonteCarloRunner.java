@@ -0,0 +1,157 @@
+package model.sim;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+
+/**
+ * Plays large numbers of headless Minipoly games in parallel on a
+ * <code>ForkJoinPool</code>.
+ * <p>
+ * The games are divided into fixed-size blocks, and every block draws its
+ * dice from its own <code>SplittableRandom</code>, whose seed is derived from
+ * the master seed and the block's number alone. Workers therefore never share
+ * a generator, and a run gives exactly the same statistics from the same
+ * master seed whatever the number of threads. Each worker accumulates its own
+ * <code>SimStats</code>, and these are merged as the tasks are joined.
+ *
+ * @author Marcus Lowndes
+ */
+public final class MonteCarloRunner {
+    /** The number of games played from each block's generator. */
+    static final int BLOCK_SIZE = 1024;
+
+    /** The number of blocks that a single task plays without forking. */
+    private static final int BLOCKS_PER_TASK = 4;
+
+    /** The default limit on the number of turns in a game. */
+    public static final int DEFAULT_MAX_TURNS = 10000;
+
+    private final SimBoard board;
+    private final ForkJoinPool pool;
+    private final int maxTurns;
+    private final Strategy playerOne;
+    private final Strategy playerTwo;
+
+
+    /**
+     * Construct a runner that plays games on the standard board, using the
+     * common pool and the default turn limit.
+     */
+    public MonteCarloRunner(){
+        this(SimBoard.standard(), ForkJoinPool.commonPool(), DEFAULT_MAX_TURNS);
+    }
+
+
+    /**
+     * Construct a runner.
+     *
+     * @param   board       the board that every game is played on
+     * @param   pool        the pool to run the games on
+     * @param   maxTurns    the maximum number of turns in a game
+     */
+    public MonteCarloRunner(SimBoard board, ForkJoinPool pool, int maxTurns){
+        this(board, pool, maxTurns, null, null);
+    }
+
+
+    /**
+     * Construct a runner whose players follow strategies. The strategies are
+     * shared by every game, on every thread of the pool.
+     *
+     * @param   board       the board that every game is played on
+     * @param   pool        the pool to run the games on
+     * @param   maxTurns    the maximum number of turns in a game
+     * @param   playerOne   the strategy of Player 1, or null for both players
+     *                      to take one action whenever they can
+     * @param   playerTwo   the strategy of Player 2, or null for both players
+     *                      to take one action whenever they can
+     */
+    public MonteCarloRunner(SimBoard board, ForkJoinPool pool, int maxTurns,
+                            Strategy playerOne, Strategy playerTwo){
+        assert ((playerOne == null) == (playerTwo == null)) :
+                "Either both players or neither must have a strategy.";
+        this.board = board;
+        this.pool = pool;
+        this.maxTurns = maxTurns;
+        this.playerOne = playerOne;
+        this.playerTwo = playerTwo;
+    }
+
+
+    /**
+     * Play a number of games and collect their outcomes.
+     *
+     * @param   games       the number of games to play
+     * @param   masterSeed  the seed from which every game's dice are derived
+     * @return  the combined statistics of every game
+     */
+    public SimStats run(long games, long masterSeed){
+        assert (games >= 0) : "The number of games cannot be negative.";
+        long blocks = (games + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        return pool.invoke(new Task(games, masterSeed, 0, blocks));
+    }
+
+
+    /**
+     * Derive the seed of a block's generator, using the SplitMix64 finaliser
+     * so that neighbouring blocks have unrelated sequences.
+     *
+     * @param   masterSeed  the seed of the whole run
+     * @param   block       the block number
+     * @return  the seed for the block's generator
+     */
+    static long blockSeed(long masterSeed, long block){
+        long z = masterSeed + (block + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+
+    /** Plays a range of blocks, forking while the range is large. */
+    private final class Task extends RecursiveTask<SimStats> {
+        private static final long serialVersionUID = 1L;
+
+        private final long games;
+        private final long masterSeed;
+        private final long from;
+        private final long to;
+
+        Task(long games, long masterSeed, long from, long to){
+            this.games = games;
+            this.masterSeed = masterSeed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimStats compute(){
+            if (to - from > BLOCKS_PER_TASK) {
+                long mid = (from + to) >>> 1;
+                Task left = new Task(games, masterSeed, from, mid);
+                left.fork();
+                SimStats right = new Task(games, masterSeed, mid, to).compute();
+                return left.join().merge(right);
+            }
+
+            SimStats stats = new SimStats();
+            SimGame game = new SimGame(board);
+            for (long block = from; block < to; block++) {
+                SplittableRandom rng = new SplittableRandom(
+                        blockSeed(masterSeed, block));
+                long end = Math.min(games, (block + 1) * BLOCK_SIZE);
+
+                for (long g = block * BLOCK_SIZE; g < end; g++) {
+                    if (playerOne == null)
+                        game.playOut(rng, maxTurns);
+                    else
+                        game.playOut(rng, maxTurns, playerOne, playerTwo);
+                    stats.add(game.getWinner(), game.getTurns());
+                }
+            }
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package model.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import model.Dice;
+import model.Model;
+
+
+/**
+ * The SearchPlayer class is a computer opponent which makes each decision to
+ * buy or improve by searching ahead, rather than by following a fixed rule.
+ * <p>
+ * A decision is a choice between two moves: to take the action, or to end
+ * the turn without it. Each move is evaluated by Monte Carlo search, playing
+ * out many games from the <code>GameState</code> it leads to under the same
+ * rules as the Model, with random dice and a greedy rollout strategy for
+ * both players, and the move with the better average outcome is chosen. This
+ * is a Monte Carlo Tree Search one ply deep, so the chance nodes of the dice
+ * are sampled rather than expanded. The two moves are played out with the
+ * same dice in every pair of rollouts, so that the difference between them
+ * is not drowned out by the luck of the dice.
+ * <p>
+ * The search runs on every thread of a <code>ForkJoinPool</code>, each with
+ * its own state and dice, until the time budget for the decision runs out.
+ * A rollout that does not finish its game within the rollout horizon is
+ * scored by the difference between the players' net worth.
+ * <p>
+ * The average score of the rollouts from each move is kept in a
+ * <code>TranspositionTable</code>, keyed by the hash of the state the move
+ * leads to. When a later search reaches both states again, the difference
+ * between their averages is combined with its own paired difference as a
+ * prior, weighted by the number of rollouts behind it but never by more
+ * than the pairs of the search itself, as those earlier rollouts were not
+ * paired and their states may only share a hash. Taking an action leads to
+ * the state from which the next action on the same turn is decided, so a
+ * run of improvements builds on the rollouts of the action before.
+ *
+ * @author Marcus Lowndes
+ */
+public final class SearchPlayer {
+    /** The default time allowed for each decision, in milliseconds. */
+    public static final long DEFAULT_BUDGET_MILLIS = 50;
+
+    /** The default number of turns played out in each rollout. */
+    public static final int DEFAULT_ROLLOUT_TURNS = 200;
+
+    /** The money that the default rollout strategy keeps back. */
+    private static final double ROLLOUT_RESERVE = 200.00;
+
+    /** The difference in net worth at which an unfinished rollout scores
+     *  about 0.73 for the player ahead. */
+    private static final double WORTH_SCALE = 500.00;
+
+    /** The number of results held by the default transposition table. */
+    public static final int DEFAULT_TABLE_SIZE = 1 << 16;
+
+    private final SimBoard board;
+    private final ForkJoinPool pool;
+    private final long budgetNanos;
+    private final Strategy rollout;
+    private final int rolloutTurns;
+    private final TranspositionTable table;
+    private final SplittableRandom seeds = new SplittableRandom();
+
+
+    /**
+     * Construct a computer player for the standard board, which searches on
+     * the common pool for the default time.
+     */
+    public SearchPlayer(){
+        this(SimBoard.standard(), ForkJoinPool.commonPool(), DEFAULT_BUDGET_MILLIS);
+    }
+
+
+    /**
+     * Construct a computer player with the default rollouts.
+     *
+     * @param   board           the board that the games are played on
+     * @param   pool            the pool to search on, using all of its threads
+     * @param   budgetMillis    the time allowed for each decision
+     */
+    public SearchPlayer(SimBoard board, ForkJoinPool pool, long budgetMillis){
+        this(board, pool, budgetMillis, Strategies.cashReserve(ROLLOUT_RESERVE),
+                DEFAULT_ROLLOUT_TURNS);
+    }
+
+
+    /**
+     * Construct a computer player.
+     *
+     * @param   board           the board that the games are played on
+     * @param   pool            the pool to search on, using all of its threads
+     * @param   budgetMillis    the time allowed for each decision
+     * @param   rollout         the strategy of both players in the rollouts,
+     *                          which is shared by every thread
+     * @param   rolloutTurns    the most turns played out in each rollout
+     */
+    public SearchPlayer(SimBoard board, ForkJoinPool pool, long budgetMillis,
+                        Strategy rollout, int rolloutTurns){
+        this(board, pool, budgetMillis, rollout, rolloutTurns,
+                new TranspositionTable(DEFAULT_TABLE_SIZE));
+    }
+
+
+    /**
+     * Construct a computer player which keeps its results in a table. The
+     * table may be shared by players with the same board, rollouts and
+     * horizon, but not by players whose rollouts score states differently.
+     *
+     * @param   board           the board that the games are played on
+     * @param   pool            the pool to search on, using all of its threads
+     * @param   budgetMillis    the time allowed for each decision
+     * @param   rollout         the strategy of both players in the rollouts,
+     *                          which is shared by every thread
+     * @param   rolloutTurns    the most turns played out in each rollout
+     * @param   table           the table to keep the results of searches in
+     */
+    public SearchPlayer(SimBoard board, ForkJoinPool pool, long budgetMillis,
+                        Strategy rollout, int rolloutTurns,
+                        TranspositionTable table){
+        assert (budgetMillis > 0) : "The time budget must be positive.";
+        assert (rolloutTurns > 0) : "The rollout horizon must be positive.";
+        this.board = board;
+        this.pool = pool;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        this.rollout = rollout;
+        this.rolloutTurns = rolloutTurns;
+        this.table = table;
+    }
+
+
+    /**
+     * Decide whether the current player should buy or improve their
+     * position. Blocks for the time budget.
+     *
+     * @param   state   the game, which is not changed
+     * @return  true if the current player should take the action
+     * @pre     the current player's position is buyable or improvable
+     */
+    public boolean decide(GameState state){
+        GameState act = state.copy();
+        act.applyInteract();
+        if (act.isGameOver())
+            return act.getWinner() == state.getCurrentPlayer();
+
+        int player = state.getCurrentPlayer();
+        table.nextGeneration();
+        TranspositionTable.Entry passPrior = table.get(state.getHash());
+        TranspositionTable.Entry actPrior = table.get(act.getHash());
+        long deadline = System.nanoTime() + budgetNanos;
+        long seed;
+        synchronized (seeds) {
+            seed = seeds.nextLong();
+        }
+
+        int workers = pool.getParallelism();
+        List<ForkJoinTask<double[]>> tasks = new ArrayList<>(workers);
+        for (int w=0; w<workers; w++) {
+            long workerSeed = MonteCarloRunner.blockSeed(seed, w);
+            tasks.add(pool.submit(() -> search(state, act, player, deadline,
+                    workerSeed)));
+        }
+
+        double difference = 0;
+        long pairs = 0;
+        for (ForkJoinTask<double[]> task : tasks) {
+            double[] totals = task.join();
+            difference += totals[1] - totals[0];
+            pairs += (long) totals[2];
+        }
+        difference /= pairs;
+
+        // earlier searches of both states are a prior on the difference, but
+        // their rollouts were not paired and may be of states that only hash
+        // alike, so they never count for more than this search's pairs
+        if (passPrior != null && actPrior != null) {
+            long weight = Math.min(pairs,
+                    Math.min(passPrior.getWeight(), actPrior.getWeight()));
+            difference = (difference * pairs + weight
+                    * (actPrior.getValue() - passPrior.getValue()))
+                    / (pairs + weight);
+        }
+        return difference > 0;
+    }
+
+
+    /**
+     * Play out pairs of rollouts from both moves until the deadline, always
+     * finishing at least one pair, and merge their average scores into the
+     * table.
+     *
+     * @return  the total score of the rollouts without the action, the
+     *          total score of the rollouts with it, and the number of pairs
+     */
+    private double[] search(GameState pass, GameState act, int player,
+                            long deadline, long seed){
+        GameState s = new GameState(board);
+        Decision decision = new Decision();
+        Dice dice = new Dice(seed);
+        double passTotal = 0, actTotal = 0;
+        int pairs = 0;
+
+        do {
+            long start = dice.getState();
+            s.copyFrom(pass);
+            s.playOut(dice, rolloutTurns, rollout, rollout, decision);
+            passTotal += score(s, player);
+
+            // replay the same dice from the other move
+            dice.setState(start);
+            s.copyFrom(act);
+            s.playOut(dice, rolloutTurns, rollout, rollout, decision);
+            actTotal += score(s, player);
+            pairs++;
+        } while (System.nanoTime() < deadline);
+
+        table.merge(pass.getHash(), passTotal / pairs, pairs);
+        table.merge(act.getHash(), actTotal / pairs, pairs);
+        return new double[] {passTotal, actTotal, pairs};
+    }
+
+
+    /** @return the outcome of a rollout for a player, from 0 for a loss to
+     *          1 for a win */
+    private static double score(GameState s, int player){
+        if (s.isGameOver())
+            return (s.getWinner() == player) ? 1 : 0;
+        double lead = s.getWorth(player) - s.getWorth(player ^ 1);
+        return 1 / (1 + Math.exp(-lead / WORTH_SCALE));
+    }
+
+
+    /**
+     * Decide whether the current player of a game should buy or improve
+     * their position. Blocks for the time budget if there is a choice.
+     *
+     * @param   model   the game, on the board this player was constructed for
+     * @return  true if the current player can and should take the action
+     */
+    public boolean shouldInteract(Model model){
+        return !model.isGameOver()
+                && (model.isCurrentPosnBuyable() || model.isCurrentPosnImprovable())
+                && decide(GameState.of(model, board));
+    }
+
+
+    /**
+     * Let the current player of a game buy and improve their position for
+     * as long as the search decides to, once they have moved.
+     *
+     * @param   model   the game, on the board this player was constructed for
+     * @return  the number of actions taken
+     */
+    public int play(Model model){
+        int actions = 0;
+        while (shouldInteract(model)) {
+            model.interactCurrentPrpt();
+            actions++;
+        }
+        return actions;
+    }
+}
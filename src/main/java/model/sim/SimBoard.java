@@ -0,0 +1,163 @@
+package model.sim;
+
+import java.util.List;
+import model.Model;
+import model.Position;
+import model.RentTable;
+
+
+/**
+ * An immutable, flattened description of a Minipoly game board for use by the
+ * headless simulation engine.
+ * <p>
+ * Every position on the board is identified by its index (its position number
+ * minus one), and all of the information needed to apply the game rules, such
+ * as whether a position is a property, its road and its price, is held in
+ * primitive arrays. A board holds no game state, so a single instance may be
+ * shared by any number of games on any number of threads.
+ *
+ * @author Marcus Lowndes
+ */
+public final class SimBoard {
+    /** The position number that sends a player back to GO. */
+    private static final int JAIL_NUMBER = 21;
+
+    /** The number of positions a player on JAIL is moved along. */
+    private static final int JAIL_MOVE = 20;
+
+    final int size;
+    final boolean[] property;
+    final int[] road;
+    final double[] price;
+    final double[] rent;
+    final int[] roadSize;
+    final int[][] roadPositions;
+    final int jail;
+    final int jailDestination;
+    final double[] landing;
+    final Zobrist zobrist;
+
+    private SimBoard(List<Position> board){
+        size = board.size();
+        property = new boolean[size];
+        road = new int[size];
+        price = new double[size];
+        rent = new double[size * RentTable.LEVELS];
+        roadSize = new int[26];
+
+        int jailIndex = -1;
+        for (int i=0; i<size; i++) {
+            Position p = board.get(i);
+            assert (p.getNumber() == i + 1) : "The board must be ordered by"
+                    + " position number.";
+
+            property[i] = p.isProperty();
+            price[i] = p.getPrice();
+            road[i] = p.isProperty() ? p.getRoad() - 'A' : -1;
+            if (p.isProperty()) {
+                roadSize[road[i]]++;
+                for (int level=0; level<RentTable.LEVELS; level++)
+                    rent[i * RentTable.LEVELS + level] =
+                            RentTable.rentFor(price[i], level);
+            }
+
+            if (p.getNumber() == JAIL_NUMBER)
+                jailIndex = i;
+        }
+
+        jail = jailIndex;
+        jailDestination = (jailIndex < 0) ? -1 : (jailIndex + JAIL_MOVE) % size;
+
+        roadPositions = new int[26][];
+        for (int r=0; r<26; r++)
+            roadPositions[r] = new int[roadSize[r]];
+        int[] filled = new int[26];
+        for (int i=0; i<size; i++)
+            if (property[i])
+                roadPositions[road[i]][filled[road[i]]++] = i;
+
+        landing = new LandingProbabilities(size, jail, jailDestination)
+                .steadyState();
+        zobrist = new Zobrist(size);
+    }
+
+
+    /**
+     * @param   board   the positions of a board, ordered by position number
+     * @return  a simulation board with the same layout as <code>board</code>
+     */
+    public static SimBoard of(List<Position> board){
+        return new SimBoard(board);
+    }
+
+
+    /** @return a simulation board with the standard Minipoly layout */
+    public static SimBoard standard(){
+        return of(new Model().getBoard());
+    }
+
+
+    /** @return the number of positions on the board */
+    public int size(){
+        return size;
+    }
+
+
+    /**
+     * @param   index   the index of a position on the board
+     * @return  true if the position is a property
+     */
+    public boolean isProperty(int index){
+        return property[index];
+    }
+
+
+    /**
+     * @param   index   the index of a position on the board
+     * @return  the price of the position, or 0 if it is not a property
+     */
+    public double getPrice(int index){
+        return price[index];
+    }
+
+
+    /**
+     * @param   index   the index of a position on the board
+     * @return  the index of the road that the position is on ('A' is 0),
+     *          or -1 if the position is not a property
+     */
+    public int getRoad(int index){
+        return road[index];
+    }
+
+
+    /**
+     * @param   index   the index of a position on the board
+     * @param   level   a level of development, as defined by
+     *                  <code>RentTable</code>
+     * @return  the rent of the position at that level of development
+     */
+    public double getRent(int index, int level){
+        return rent[index * RentTable.LEVELS + level];
+    }
+
+
+    /**
+     * @param   index   the index of a position on the board
+     * @return  the long-run probability of a player ending a turn on the
+     *          position, as calculated by <code>LandingProbabilities</code>
+     */
+    public double getLandingProbability(int index){
+        return landing[index];
+    }
+
+
+    /**
+     * @param   index   the index of a position on the board
+     * @return  the index that a player landing on <code>index</code> ends
+     *          their move on, taking the JAIL rule into account
+     */
+    public int resolve(int index){
+        return (index == jail) ? jailDestination : index;
+    }
+}
@@ -0,0 +1,344 @@
+package model.sim;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import model.RentTable;
+
+
+/**
+ * A headless Minipoly game for bulk simulation.
+ * <p>
+ * The game follows exactly the same rules as <code>Model</code>: the players
+ * take turns, alternating from Player 1, to roll two six-sided dice and move
+ * around the board, a player landing on JAIL is sent back to GO, rent is
+ * charged from the same rates as <code>Model.calculateRent</code> and
+ * properties are bought and improved at the same costs as
+ * <code>Position.buy</code> and <code>Position.improve</code>.
+ * <p>
+ * Unlike the Model, all game state is held in primitive arrays indexed by
+ * board position, there are no observers to notify and no text is built, so
+ * a game can be played to completion without allocating anything other than
+ * its result. Unless the players are given strategies, after each move the
+ * current player takes one action on their position if it is buyable or
+ * improvable. A game is not thread-safe, but any number of games may share
+ * a <code>SimBoard</code>.
+ *
+ * @author Marcus Lowndes
+ */
+public final class SimGame {
+    /** The improvement level of a property that has a hotel built on it,
+     *  one level below <code>RentTable.HOTEL</code> as the levels here
+     *  do not include <code>RentTable.BASIC</code>. */
+    static final int HOTEL = RentTable.HOTEL - RentTable.FULL_SET;
+
+    private static final double STARTING_MONEY = 2000.00;
+
+    private final SimBoard board;
+
+    private final int[] owner;
+    private final int[] level;
+    private final int[][] ownedOnRoad = new int[2][26];
+    private final int[] position = new int[2];
+    private final double[] money = new double[2];
+    private int current;
+    private boolean firstTurn;
+    private int turns;
+
+    private final Decision decision = new Decision();
+
+
+    /**
+     * Construct a headless game at its opening state.
+     *
+     * @param   board   the board that the game is played on
+     */
+    public SimGame(SimBoard board){
+        this.board = board;
+        owner = new int[board.size];
+        level = new int[board.size];
+        reset();
+    }
+
+
+    /** Return the game to its opening state, without allocating. */
+    public void reset(){
+        Arrays.fill(owner, -1);
+        Arrays.fill(level, 0);
+        Arrays.fill(ownedOnRoad[0], 0);
+        Arrays.fill(ownedOnRoad[1], 0);
+        position[0] = 0;
+        position[1] = 0;
+        money[0] = STARTING_MONEY;
+        money[1] = STARTING_MONEY;
+        current = 0;
+        firstTurn = true;
+        turns = 0;
+    }
+
+
+    /**
+     * Play this game from its opening state until a player runs out of money
+     * or the turn limit is reached.
+     *
+     * @param   rng         the source of the dice rolls
+     * @param   maxTurns    the maximum number of turns to play
+     * @return  the outcome of the game
+     */
+    public SimResult play(SplittableRandom rng, int maxTurns){
+        playOut(rng, maxTurns);
+        return new SimResult(getWinner(), turns, money[0], money[1]);
+    }
+
+
+    /**
+     * Play this game from its opening state until a player runs out of money
+     * or the turn limit is reached, leaving the outcome in this game's state.
+     *
+     * @param   rng         the source of the dice rolls
+     * @param   maxTurns    the maximum number of turns to play
+     */
+    void playOut(SplittableRandom rng, int maxTurns){
+        reset();
+        while (turns < maxTurns) {
+            turn((rng.nextInt(6) + 1) + (rng.nextInt(6) + 1));
+            if (isGameOver())
+                break;
+
+            if (isBuyable() || isImprovable()) {
+                interact();
+                if (isGameOver())
+                    break;
+            }
+        }
+    }
+
+
+    /**
+     * Play this game from its opening state until a player runs out of money
+     * or the turn limit is reached, with each player's decisions to buy and
+     * improve made by a strategy.
+     *
+     * @param   rng         the source of the dice rolls
+     * @param   maxTurns    the maximum number of turns to play
+     * @param   playerOne   the strategy of Player 1
+     * @param   playerTwo   the strategy of Player 2
+     * @return  the outcome of the game
+     */
+    public SimResult play(SplittableRandom rng, int maxTurns,
+                          Strategy playerOne, Strategy playerTwo){
+        playOut(rng, maxTurns, playerOne, playerTwo);
+        return new SimResult(getWinner(), turns, money[0], money[1]);
+    }
+
+
+    /**
+     * Play this game from its opening state with each player's decisions
+     * made by a strategy, leaving the outcome in this game's state.
+     *
+     * @param   rng         the source of the dice rolls
+     * @param   maxTurns    the maximum number of turns to play
+     * @param   playerOne   the strategy of Player 1
+     * @param   playerTwo   the strategy of Player 2
+     */
+    void playOut(SplittableRandom rng, int maxTurns,
+                 Strategy playerOne, Strategy playerTwo){
+        reset();
+        while (turns < maxTurns) {
+            turn((rng.nextInt(6) + 1) + (rng.nextInt(6) + 1));
+            if (isGameOver())
+                break;
+
+            Strategy strategy = (current == 0) ? playerOne : playerTwo;
+            while ((isBuyable() || isImprovable()) && decide(strategy)) {
+                interact();
+                if (isGameOver())
+                    break;
+            }
+            if (isGameOver())
+                break;
+        }
+    }
+
+
+    /**
+     * Ask a strategy whether the current player should act on their position.
+     *
+     * @param   strategy    the current player's strategy
+     * @pre     the current player's position is buyable or improvable
+     * @return  the strategy's decision
+     */
+    boolean decide(Strategy strategy){
+        describe(decision);
+        return strategy.decide(decision);
+    }
+
+
+    /**
+     * Describe the choice faced by the current player.
+     *
+     * @param   d   the decision to fill in
+     * @pre     the current player's position is buyable or improvable
+     */
+    private void describe(Decision d){
+        int posn = position[current];
+        int road = board.road[posn];
+        int other = current ^ 1;
+        double price = board.price[posn];
+        boolean buy = owner[posn] < 0;
+        int houses = level[posn];
+        double cost = buy ? price : (houses == 4) ? 0.8 * price : 0.5 * price;
+
+        d.set(buy, posn, road, cost, money[current], money[other],
+                ownedOnRoad[current][road], board.roadSize[road],
+                ownedOnRoad[other][road] > 0, houses);
+
+        if (!buy) {
+            int next = (houses == 4) ? HOTEL : houses + 1;
+            d.addRentGain(rate(posn, RentTable.FULL_SET + next)
+                    - rate(posn, RentTable.FULL_SET + houses), board.landing[posn]);
+        }
+        else if (ownedOnRoad[current][road] + 1 == board.roadSize[road]) {
+            // buying the last property on the road raises the rent of them all
+            for (int q : board.roadPositions[road]) {
+                double before = (q == posn) ? 0 : rate(q, RentTable.BASIC);
+                d.addRentGain(rate(q, RentTable.FULL_SET + level[q]) - before,
+                        board.landing[q]);
+            }
+        }
+        else
+            d.addRentGain(rate(posn, RentTable.BASIC), board.landing[posn]);
+    }
+
+
+    /** @return the rent of a position at a level of development */
+    private double rate(int posn, int rentLevel){
+        return board.rent[posn * RentTable.LEVELS + rentLevel];
+    }
+
+
+    /**
+     * Swap the current player, move them along the board by <code>roll</code>
+     * positions and charge any rent owed for the position landed on.
+     *
+     * @param   roll    the total of the dice
+     * @pre     roll must be in the range of 1-12
+     */
+    void turn(int roll){
+        assert (roll > 0 && roll < 13) : "This is not a valid roll.";
+
+        if (!firstTurn)
+            current ^= 1;
+
+        int posn = board.resolve((position[current] + roll) % board.size);
+        position[current] = posn;
+
+        int o = owner[posn];
+        if (o >= 0 && o != current) {
+            double rent = rent(posn);
+            money[current] += -rent;
+            money[o] += rent;
+        }
+
+        firstTurn = false;
+        turns++;
+    }
+
+
+    /**
+     * Buy the current player's position if it has no owner, otherwise add an
+     * improvement to it.
+     *
+     * @pre the current player's position is buyable or improvable
+     */
+    void interact(){
+        assert (isBuyable() || isImprovable()) :
+                "This position is not buyable or improvable.";
+
+        int posn = position[current];
+        double price = board.price[posn];
+
+        if (owner[posn] < 0) {
+            money[current] += -price;
+            owner[posn] = current;
+            ownedOnRoad[current][board.road[posn]]++;
+        }
+        else if (level[posn] == 4) {
+            money[current] += -(0.8 * price);
+            level[posn] = HOTEL;
+        }
+        else {
+            money[current] += -(0.5 * price);
+            level[posn]++;
+        }
+    }
+
+
+    /**
+     * @param   posn    an owned property
+     * @return  the rent charged for landing on the property
+     */
+    private double rent(int posn){
+        int rentLevel = ownsRoad(owner[posn], board.road[posn]) ?
+                RentTable.FULL_SET + level[posn] : RentTable.BASIC;
+        return rate(posn, rentLevel);
+    }
+
+
+    /** @return true if <code>player</code> owns every property on
+     *          <code>road</code> */
+    private boolean ownsRoad(int player, int road){
+        return ownedOnRoad[player][road] == board.roadSize[road];
+    }
+
+
+    /** @return true if the current player can buy their position */
+    boolean isBuyable(){
+        int posn = position[current];
+        return board.property[posn] && owner[posn] < 0;
+    }
+
+
+    /** @return true if the current player can improve their position */
+    boolean isImprovable(){
+        int posn = position[current];
+        return board.property[posn]
+                && ownsRoad(current, board.road[posn])
+                && level[posn] != HOTEL;
+    }
+
+
+    /** @return true if a player has run out of money */
+    public boolean isGameOver(){
+        return money[0] <= 0 || money[1] <= 0;
+    }
+
+
+    /** @return the index of the winning player, or
+     *          <code>SimResult.NO_WINNER</code> if the game is not over */
+    int getWinner(){
+        if (!isGameOver())
+            return SimResult.NO_WINNER;
+        return (money[0] <= 0) ? 1 : 0;
+    }
+
+
+    /** @return the index of the player whose turn it is */
+    public int getCurrentPlayer(){
+        return current;
+    }
+
+    /** @return the board index of a player's counter */
+    public int getPosition(int player){
+        return position[player];
+    }
+
+    /** @return the money held by a player */
+    public double getMoney(int player){
+        return money[player];
+    }
+
+    /** @return the number of turns played */
+    public int getTurns(){
+        return turns;
+    }
+}
@@ -0,0 +1,62 @@
+package model.sim;
+
+
+/**
+ * The outcome of a single headless Minipoly game, held entirely in primitive
+ * fields.
+ *
+ * @author Marcus Lowndes
+ */
+public final class SimResult {
+    /** The winner value used when neither player ran out of money. */
+    public static final int NO_WINNER = -1;
+
+    private final int winner;
+    private final int turns;
+    private final double playerOneMoney;
+    private final double playerTwoMoney;
+
+    /** @return 0 if Player 1 won, 1 if Player 2 won, otherwise
+     *          <code>NO_WINNER</code> if the turn limit was reached */
+    public int getWinner() {
+        return winner;
+    }
+
+    public int getTurns() {
+        return turns;
+    }
+
+    public double getPlayerOneMoney() {
+        return playerOneMoney;
+    }
+
+    public double getPlayerTwoMoney() {
+        return playerTwoMoney;
+    }
+
+
+    /**
+     * Construct the result of a finished game.
+     *
+     * @param   winner          the winning player's index, or
+     *                          <code>NO_WINNER</code>
+     * @param   turns           the number of turns that were played
+     * @param   playerOneMoney  Player 1's money at the end of the game
+     * @param   playerTwoMoney  Player 2's money at the end of the game
+     */
+    SimResult(int winner, int turns, double playerOneMoney,
+              double playerTwoMoney){
+        this.winner = winner;
+        this.turns = turns;
+        this.playerOneMoney = playerOneMoney;
+        this.playerTwoMoney = playerTwoMoney;
+    }
+
+
+    @Override
+    public String toString(){
+        return "winner=" + (winner == NO_WINNER ? "none" : "[P" + (winner + 1) + "]")
+                + " turns=" + turns + " P1=" + playerOneMoney
+                + " P2=" + playerTwoMoney;
+    }
+}
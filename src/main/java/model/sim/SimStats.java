@@ -0,0 +1,138 @@
+package model.sim;
+
+import java.util.Arrays;
+
+
+/**
+ * Accumulated outcomes of a batch of headless Minipoly games.
+ * <p>
+ * Every statistic is an integer count, so merging the accumulators of
+ * separate workers gives the same totals whatever order they are merged in.
+ * An accumulator is not thread-safe; each worker keeps its own and they are
+ * combined with <code>merge</code> once the workers have finished.
+ *
+ * @author Marcus Lowndes
+ */
+public final class SimStats {
+    /** The width, in turns, of each game length histogram bucket. */
+    public static final int BUCKET_WIDTH = 10;
+
+    /** The number of game length histogram buckets. The last bucket
+     *  holds every game at least as long as its lower bound. */
+    public static final int BUCKETS = 50;
+
+    private long games;
+    private long playerOneWins;
+    private long playerTwoWins;
+    private long totalTurns;
+    private final long[] lengths = new long[BUCKETS];
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getPlayerOneWins() {
+        return playerOneWins;
+    }
+
+    public long getPlayerTwoWins() {
+        return playerTwoWins;
+    }
+
+    /** @return the number of games that reached the turn limit */
+    public long getUnfinished() {
+        return games - playerOneWins - playerTwoWins;
+    }
+
+    public long getTotalTurns() {
+        return totalTurns;
+    }
+
+    /** @return the mean number of turns per game */
+    public double getMeanTurns() {
+        return (games == 0) ? 0 : (double) totalTurns / games;
+    }
+
+    /**
+     * @param   bucket  a histogram bucket, covering games of
+     *                  <code>bucket * BUCKET_WIDTH</code> turns or more
+     * @return  the number of games whose length fell into the bucket
+     */
+    public long getLengthCount(int bucket) {
+        return lengths[bucket];
+    }
+
+
+    /** @param  result  the outcome of a game to add to the statistics */
+    public void add(SimResult result){
+        add(result.getWinner(), result.getTurns());
+    }
+
+
+    /**
+     * @param   winner  the index of the winning player, or
+     *                  <code>SimResult.NO_WINNER</code>
+     * @param   turns   the number of turns the game lasted
+     */
+    void add(int winner, int turns){
+        games++;
+        if (winner == 0)
+            playerOneWins++;
+        else if (winner == 1)
+            playerTwoWins++;
+
+        totalTurns += turns;
+        lengths[Math.min(turns / BUCKET_WIDTH, BUCKETS - 1)]++;
+    }
+
+
+    /**
+     * Add every outcome held by another accumulator to this one.
+     *
+     * @param   other   the statistics to be merged into these
+     * @return  this accumulator
+     */
+    public SimStats merge(SimStats other){
+        games += other.games;
+        playerOneWins += other.playerOneWins;
+        playerTwoWins += other.playerTwoWins;
+        totalTurns += other.totalTurns;
+        for (int i=0; i<BUCKETS; i++)
+            lengths[i] += other.lengths[i];
+        return this;
+    }
+
+
+    /** @return true if the other object is a SimStats holding exactly the
+     *          same counts */
+    @Override
+    public boolean equals(Object o){
+        if (this == o)
+            return true;
+        if (!(o instanceof SimStats))
+            return false;
+        SimStats other = (SimStats) o;
+        return games == other.games && playerOneWins == other.playerOneWins
+                && playerTwoWins == other.playerTwoWins
+                && totalTurns == other.totalTurns
+                && Arrays.equals(lengths, other.lengths);
+    }
+
+
+    @Override
+    public int hashCode(){
+        int h = Long.hashCode(games);
+        h = 31 * h + Long.hashCode(playerOneWins);
+        h = 31 * h + Long.hashCode(playerTwoWins);
+        h = 31 * h + Long.hashCode(totalTurns);
+        return 31 * h + Arrays.hashCode(lengths);
+    }
+
+
+    @Override
+    public String toString(){
+        return "games=" + games + " P1 wins=" + playerOneWins
+                + " P2 wins=" + playerTwoWins + " unfinished=" + getUnfinished()
+                + " mean turns=" + getMeanTurns();
+    }
+}
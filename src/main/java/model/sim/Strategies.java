@@ -0,0 +1,67 @@
+package model.sim;
+
+
+/**
+ * The built-in strategies for playing Minipoly automatically.
+ * <p>
+ * A player with no money left loses the game. <code>alwaysBuy</code> takes
+ * no account of this, and will spend the player into bankruptcy. The other
+ * strategies keep back the reserve they are given, so they never spend all
+ * of the player's money when it is positive, but with a reserve of 0 or
+ * less they may spend the player's last penny too.
+ *
+ * @author Marcus Lowndes
+ */
+public final class Strategies {
+    private static final Strategy ALWAYS_BUY = d -> true;
+
+    private Strategies(){
+    }
+
+
+    /** @return a strategy which always buys and improves, even if it runs
+     *          the player out of money */
+    public static Strategy alwaysBuy(){
+        return ALWAYS_BUY;
+    }
+
+
+    /**
+     * @param   reserve the money to keep back
+     * @return  a strategy which buys and improves whenever the player would
+     *          still have at least <code>reserve</code> left afterwards
+     */
+    public static Strategy cashReserve(double reserve){
+        return d -> d.getMoney() - d.getCost() >= reserve;
+    }
+
+
+    /**
+     * @param   reserve the money to keep back when improving
+     * @return  a strategy which concentrates on completing roads. It only
+     *          buys a property on a road that the opponent has no part of,
+     *          and it improves whenever the player would still have at least
+     *          <code>reserve</code> left afterwards
+     */
+    public static Strategy setFocused(double reserve){
+        return d -> d.isBuy() ?
+                !d.isRoadBlocked() && d.getMoney() > d.getCost()
+                : d.getMoney() - d.getCost() >= reserve;
+    }
+
+
+    /**
+     * @param   maxPaybackTurns the most opponent turns that an action may
+     *                          take to pay for itself
+     * @param   reserve         the money to keep back
+     * @return  a strategy which only buys or improves when the rent expected
+     *          to be gained repays the cost within <code>maxPaybackTurns</code>
+     *          of the opponent, and the player would still have at least
+     *          <code>reserve</code> left afterwards
+     */
+    public static Strategy returnOnInvestment(double maxPaybackTurns,
+                                              double reserve){
+        return d -> d.getMoney() - d.getCost() >= reserve
+                && d.getCost() <= d.getExpectedRentGain() * maxPaybackTurns;
+    }
+}
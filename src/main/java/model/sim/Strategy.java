@@ -0,0 +1,26 @@
+package model.sim;
+
+
+/**
+ * A way of playing Minipoly automatically, which decides whether a player
+ * buys or improves their position whenever they are able to.
+ * <p>
+ * A strategy is asked again after each action it takes, for as long as the
+ * position can still be acted on, so a strategy may buy a property and then
+ * build on it several times in the same turn. Strategies are called for
+ * every decision of every simulated game, so they must be quick and must not
+ * allocate. A strategy that holds no state of its own, like those made by
+ * <code>Strategies</code>, may be shared by any number of games on any
+ * number of threads.
+ *
+ * @author Marcus Lowndes
+ */
+@FunctionalInterface
+public interface Strategy {
+
+    /**
+     * @param   decision    the choice faced by the player
+     * @return  true to buy or improve the position, or false to pass
+     */
+    boolean decide(Decision decision);
+}
@@ -0,0 +1,368 @@
+package model.sim;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+
+/**
+ * Plays every pairing of a set of strategies against each other in headless
+ * games, in parallel on a <code>ForkJoinPool</code>, to rank them.
+ * <p>
+ * The games of a match are played in pairs with the same dice, each strategy
+ * taking the first seat in one game of the pair, so the advantage of moving
+ * first cancels out. A match is played in rounds of game pairs, and after
+ * every round two sequential probability ratio tests, one for each
+ * strategy, weigh a win rate of <code>0.5 + margin</code> for the strategy
+ * against an even win rate. The chance of wrongly finding a strategy better
+ * is split evenly between the two tests, so that two even strategies are
+ * wrongly separated about <code>1 - confidence</code> of the time at most,
+ * and a strategy better by the margin is missed about as often at most. A match stops as
+ * soon as one strategy is found to be better, or both are found to be even,
+ * so a clear difference is found after a few rounds, and only strategies
+ * which differ by less than the margin use up the game limit. Games which
+ * reach the turn limit count for neither strategy.
+ * <p>
+ * Every match, and every round of a match, is divided into blocks of game
+ * pairs whose dice are seeded from the master seed and the block's number
+ * alone, and the test is only applied between rounds, so a tournament gives
+ * exactly the same results from the same master seed whatever the number of
+ * threads.
+ *
+ * @author Marcus Lowndes
+ */
+public final class Tournament {
+    /** The default confidence that a match does not wrongly find a winner. */
+    public static final double DEFAULT_CONFIDENCE = 0.95;
+
+    /** The default smallest difference from an even win rate to detect. */
+    public static final double DEFAULT_MARGIN = 0.05;
+
+    /** The default limit on the number of games in a match. */
+    public static final long DEFAULT_MAX_GAMES = 100000;
+
+    /** The number of game pairs played from each block's generator. */
+    private static final int BLOCK_PAIRS = 16;
+
+    /** The number of blocks in each round of a match. */
+    private static final int ROUND_BLOCKS = 8;
+
+    /** The verdicts of the tests on a match. */
+    private static final int UNDECIDED = 0, FIRST = 1, SECOND = 2, EVEN = 3;
+
+    private final SimBoard board;
+    private final ForkJoinPool pool;
+    private final int maxTurns;
+    private final double confidence;
+    private final double margin;
+    private final long maxGames;
+    private final List<String> names = new ArrayList<>();
+    private final List<Strategy> strategies = new ArrayList<>();
+
+
+    /**
+     * Construct a tournament on the standard board, using the common pool and
+     * the default limits.
+     */
+    public Tournament(){
+        this(SimBoard.standard(), ForkJoinPool.commonPool(),
+                MonteCarloRunner.DEFAULT_MAX_TURNS, DEFAULT_CONFIDENCE,
+                DEFAULT_MARGIN, DEFAULT_MAX_GAMES);
+    }
+
+
+    /**
+     * Construct a tournament.
+     *
+     * @param   board       the board that every game is played on
+     * @param   pool        the pool to run the games on
+     * @param   maxTurns    the maximum number of turns in a game
+     * @param   confidence  the confidence that a match between even
+     *                      strategies does not find a winner, such as 0.95
+     * @param   margin      the smallest difference from an even win rate
+     *                      that a match should detect, such as 0.05
+     * @param   maxGames    the maximum number of games in a match, which
+     *                      is rounded up to a whole number of rounds of
+     *                      256 games
+     */
+    public Tournament(SimBoard board, ForkJoinPool pool, int maxTurns,
+                      double confidence, double margin, long maxGames){
+        assert (confidence > 0.5 && confidence < 1) : "The confidence must be"
+                + " between 0.5 and 1.";
+        assert (margin > 0 && margin < 0.5) : "The margin must be between 0"
+                + " and 0.5.";
+        assert (maxGames > 0) : "A match must have at least one game.";
+        this.board = board;
+        this.pool = pool;
+        this.maxTurns = maxTurns;
+        this.confidence = confidence;
+        this.margin = margin;
+        this.maxGames = maxGames;
+    }
+
+
+    /**
+     * Enter a strategy into the tournament. The strategy is shared by every
+     * game, on every thread of the pool.
+     *
+     * @param   name        the name of the strategy, which must be unique
+     * @param   strategy    the strategy
+     * @return  this tournament
+     */
+    public Tournament add(String name, Strategy strategy){
+        assert (!names.contains(name)) : "Every strategy must have its own name.";
+        names.add(name);
+        strategies.add(strategy);
+        return this;
+    }
+
+
+    /**
+     * Play every pairing of the strategies entered, all at once.
+     *
+     * @param   masterSeed  the seed from which every game's dice are derived
+     * @return  the result of each pairing, in the order the strategies were
+     *          entered
+     */
+    public List<Match> run(long masterSeed){
+        List<MatchTask> tasks = new ArrayList<>();
+        for (int a=0; a<names.size(); a++)
+            for (int b = a + 1; b<names.size(); b++)
+                tasks.add(new MatchTask(a, b,
+                        MonteCarloRunner.blockSeed(masterSeed, tasks.size())));
+
+        List<Match> matches = new ArrayList<>(tasks.size());
+        for (MatchTask task : tasks)
+            pool.execute(task);
+        for (MatchTask task : tasks)
+            matches.add(task.join());
+        return matches;
+    }
+
+
+    /**
+     * Rank the strategies by the number of matches they won, and then by
+     * their share of the games won across all of their matches.
+     *
+     * @param   matches the results of a tournament
+     * @return  the names of the strategies, best first
+     */
+    public static List<String> rank(List<Match> matches){
+        Map<String, long[]> scores = new HashMap<>();
+        List<String> ranking = new ArrayList<>();
+        for (Match m : matches)
+            for (String name : new String[] {m.getFirst(), m.getSecond()})
+                if (!scores.containsKey(name)) {
+                    // matches won, games won and games decided
+                    scores.put(name, new long[3]);
+                    ranking.add(name);
+                }
+
+        for (Match m : matches) {
+            long[] first = scores.get(m.getFirst());
+            long[] second = scores.get(m.getSecond());
+            if (m.getFirst().equals(m.getWinner()))
+                first[0]++;
+            else if (m.getSecond().equals(m.getWinner()))
+                second[0]++;
+            first[1] += m.getFirstWins();
+            second[1] += m.getSecondWins();
+            first[2] += m.getFirstWins() + m.getSecondWins();
+            second[2] += m.getFirstWins() + m.getSecondWins();
+        }
+
+        Collections.sort(ranking, Comparator
+                .comparingLong((String name) -> -scores.get(name)[0])
+                .thenComparingDouble(name -> {
+                    long[] s = scores.get(name);
+                    return (s[2] == 0) ? 0 : -(double) s[1] / s[2];
+                }));
+        return ranking;
+    }
+
+
+    /** Plays one match, round by round, until the test decides. */
+    private final class MatchTask extends RecursiveTask<Match> {
+        private static final long serialVersionUID = 1L;
+
+        private final int first;
+        private final int second;
+        private final long seed;
+
+        MatchTask(int first, int second, long seed){
+            this.first = first;
+            this.second = second;
+            this.seed = seed;
+        }
+
+        @Override
+        protected Match compute(){
+            long[] totals = new long[3];
+            long block = 0;
+            int verdict = UNDECIDED;
+            while (verdict == UNDECIDED
+                    && totals[0] + totals[1] + totals[2] < maxGames) {
+                List<BlockTask> round = new ArrayList<>(ROUND_BLOCKS);
+                for (int i=0; i<ROUND_BLOCKS; i++)
+                    round.add(new BlockTask(first, second,
+                            MonteCarloRunner.blockSeed(seed, block++)));
+                for (BlockTask task : invokeAll(round))
+                    for (int i=0; i<3; i++)
+                        totals[i] += task.join()[i];
+                verdict = test(totals[0], totals[1]);
+            }
+
+            String winner = (verdict == FIRST) ? names.get(first)
+                    : (verdict == SECOND) ? names.get(second) : null;
+            return new Match(names.get(first), names.get(second), totals[0],
+                    totals[1], totals[2], winner, verdict != UNDECIDED);
+        }
+    }
+
+
+    /**
+     * Apply the sequential tests to the games won so far in a match.
+     *
+     * @param   firstWins   the games won by the first strategy
+     * @param   secondWins  the games won by the second strategy
+     * @return  the strategy found to be better, <code>EVEN</code> if neither
+     *          is better, or <code>UNDECIDED</code> to play on
+     */
+    private int test(long firstWins, long secondWins){
+        // the log likelihood ratio of a win rate of 0.5 + margin against an
+        // even win rate, for each game won and lost
+        double win = Math.log(1 + 2 * margin);
+        double loss = Math.log(1 - 2 * margin);
+
+        // Wald's bounds for each test, with half of the chance of wrongly
+        // finding a strategy better given to each
+        double falseWinner = (1 - confidence) / 2;
+        double missed = 1 - confidence;
+        double accept = Math.log((1 - missed) / falseWinner);
+        double reject = Math.log(missed / (1 - falseWinner));
+
+        double firstRatio = firstWins * win + secondWins * loss;
+        double secondRatio = secondWins * win + firstWins * loss;
+        if (firstRatio >= accept)
+            return FIRST;
+        if (secondRatio >= accept)
+            return SECOND;
+        if (firstRatio <= reject && secondRatio <= reject)
+            return EVEN;
+        return UNDECIDED;
+    }
+
+
+    /** Plays a block of game pairs, swapping the seats in each pair. */
+    private final class BlockTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int first;
+        private final int second;
+        private final long seed;
+
+        BlockTask(int first, int second, long seed){
+            this.first = first;
+            this.second = second;
+            this.seed = seed;
+        }
+
+        @Override
+        protected long[] compute(){
+            // wins of the first strategy, wins of the second, unfinished
+            long[] totals = new long[3];
+            SimGame game = new SimGame(board);
+            Strategy a = strategies.get(first);
+            Strategy b = strategies.get(second);
+            SplittableRandom rng = new SplittableRandom(seed);
+
+            for (int p=0; p<BLOCK_PAIRS; p++) {
+                long gameSeed = rng.nextLong();
+
+                game.playOut(new SplittableRandom(gameSeed), maxTurns, a, b);
+                int winner = game.getWinner();
+                totals[(winner == SimResult.NO_WINNER) ? 2 : winner]++;
+
+                game.playOut(new SplittableRandom(gameSeed), maxTurns, b, a);
+                winner = game.getWinner();
+                totals[(winner == SimResult.NO_WINNER) ? 2 : 1 - winner]++;
+            }
+            return totals;
+        }
+    }
+
+
+    /** The result of a match between two strategies. */
+    public static final class Match {
+        private final String first;
+        private final String second;
+        private final long firstWins;
+        private final long secondWins;
+        private final long unfinished;
+        private final String winner;
+        private final boolean decided;
+
+        Match(String first, String second, long firstWins, long secondWins,
+              long unfinished, String winner, boolean decided){
+            this.first = first;
+            this.second = second;
+            this.firstWins = firstWins;
+            this.secondWins = secondWins;
+            this.unfinished = unfinished;
+            this.winner = winner;
+            this.decided = decided;
+        }
+
+        /** @return the name of the strategy entered first */
+        public String getFirst() {
+            return first;
+        }
+
+        /** @return the name of the strategy entered second */
+        public String getSecond() {
+            return second;
+        }
+
+        public long getFirstWins() {
+            return firstWins;
+        }
+
+        public long getSecondWins() {
+            return secondWins;
+        }
+
+        /** @return the number of games that reached the turn limit */
+        public long getUnfinished() {
+            return unfinished;
+        }
+
+        public long getGames() {
+            return firstWins + secondWins + unfinished;
+        }
+
+        /** @return the name of the better strategy, or null if neither was
+         *          found to be better */
+        public String getWinner() {
+            return winner;
+        }
+
+        /** @return true if the test found one strategy to be better or both
+         *          to be even, false if the match reached the game limit */
+        public boolean isDecided() {
+            return decided;
+        }
+
+        @Override
+        public String toString(){
+            return first + " vs " + second + ": " + firstWins + "-" + secondWins
+                    + " unfinished=" + unfinished + " winner="
+                    + ((winner != null) ? winner : decided ? "even" : "undecided");
+        }
+    }
+}
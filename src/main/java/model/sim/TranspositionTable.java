@@ -0,0 +1,212 @@
+package model.sim;
+
+
+/**
+ * A bounded table of search results for game states, keyed by the Zobrist
+ * hash of each state, which may be shared by searches on any number of
+ * threads.
+ * <p>
+ * Each result is a value, such as the average score of the rollouts played
+ * out from a state, and a weight, such as the number of rollouts. Results
+ * for the same state are merged into their weighted average, so threads
+ * searching the same state build on each other's work.
+ * <p>
+ * The table has a fixed number of slots, arranged in buckets of two, and a
+ * state can only be held in the bucket its hash selects. When both slots of
+ * a bucket are taken by other states, the result replaces an entry left over
+ * from an earlier generation of searches before one from the current
+ * generation, and the entry with the lower weight before the one with the
+ * higher weight, so the most valuable results are kept for longest. Each
+ * bucket is guarded by one of a fixed number of locks, so threads only
+ * contend when they use buckets that share a lock.
+ *
+ * @author Marcus Lowndes
+ */
+public final class TranspositionTable {
+    /** The default number of locks guarding the buckets. */
+    public static final int DEFAULT_STRIPES = 64;
+
+    private final long[] keys;
+    private final double[] values;
+    private final int[] weights;
+    private final int[] generations;
+    private final int bucketMask;
+    private final Object[] locks;
+    private final int stripeMask;
+    private volatile int generation = 1;
+
+
+    /**
+     * Construct a table with the default number of locks.
+     *
+     * @param   capacity    the number of results the table can hold, which
+     *                      is rounded up to a power of two
+     */
+    public TranspositionTable(int capacity){
+        this(capacity, DEFAULT_STRIPES);
+    }
+
+
+    /**
+     * Construct a table.
+     *
+     * @param   capacity    the number of results the table can hold, which
+     *                      is rounded up to a power of two
+     * @param   stripes     the number of locks guarding the buckets, which is
+     *                      rounded up to a power of two
+     */
+    public TranspositionTable(int capacity, int stripes){
+        assert (capacity > 1 && capacity <= 1 << 30) : "The capacity must be"
+                + " between 2 and 2^30.";
+        assert (stripes > 0 && stripes <= 1 << 16) : "The number of stripes"
+                + " must be between 1 and 2^16.";
+        int slots = powerOfTwo(capacity);
+        keys = new long[slots];
+        values = new double[slots];
+        weights = new int[slots];
+        generations = new int[slots];
+        bucketMask = slots / 2 - 1;
+
+        locks = new Object[Math.min(powerOfTwo(stripes), slots / 2)];
+        for (int i=0; i<locks.length; i++)
+            locks[i] = new Object();
+        stripeMask = locks.length - 1;
+    }
+
+
+    /** @return the smallest power of two that is at least <code>n</code> */
+    private static int powerOfTwo(int n){
+        return (n == 1) ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+
+    /** @return the number of results the table can hold */
+    public int capacity(){
+        return keys.length;
+    }
+
+
+    /**
+     * Start a new generation of searches. Every result already in the table
+     * is kept, but will be replaced before any result of the new generation.
+     * If two searches start a generation at once, they may share it.
+     */
+    public void nextGeneration(){
+        generation++;
+    }
+
+
+    /** Remove every result from the table. */
+    public void clear(){
+        for (int i=0; i<locks.length; i++)
+            synchronized (locks[i]) {
+                for (int b = i; b <= bucketMask; b += locks.length) {
+                    weights[2 * b] = 0;
+                    weights[2 * b + 1] = 0;
+                }
+            }
+    }
+
+
+    /** @return the bucket that holds a key, spread so that keys which differ
+     *          only in their high bits still use different buckets */
+    private int bucket(long key){
+        return (int) (key ^ (key >>> 32)) & bucketMask;
+    }
+
+
+    /**
+     * Look up the result for a state.
+     *
+     * @param   key     the hash of the state
+     * @return  the result, or null if the table has no result for the state
+     */
+    public Entry get(long key){
+        int b = bucket(key);
+        synchronized (locks[b & stripeMask]) {
+            for (int slot = 2 * b; slot < 2 * b + 2; slot++)
+                if (weights[slot] > 0 && keys[slot] == key) {
+                    generations[slot] = generation;
+                    return new Entry(values[slot], weights[slot]);
+                }
+        }
+        return null;
+    }
+
+
+    /**
+     * Merge a result for a state into the table. If the table already has a
+     * result for the state, the two are combined into their weighted
+     * average, otherwise the result is stored if the replacement policy
+     * allows it.
+     *
+     * @param   key     the hash of the state
+     * @param   value   the value of the state
+     * @param   weight  the weight of the value, such as the number of
+     *                  samples it is the average of
+     * @return  true if the result was stored
+     */
+    public boolean merge(long key, double value, int weight){
+        assert (weight > 0) : "The weight must be positive.";
+        int b = bucket(key);
+        int gen = generation;
+
+        synchronized (locks[b & stripeMask]) {
+            int first = 2 * b, second = first + 1;
+            for (int slot = first; slot <= second; slot++)
+                if (weights[slot] > 0 && keys[slot] == key) {
+                    long total = (long) weights[slot] + weight;
+                    values[slot] += (value - values[slot]) * weight / total;
+                    weights[slot] = (int) Math.min(total, Integer.MAX_VALUE);
+                    generations[slot] = gen;
+                    return true;
+                }
+
+            int victim = (weights[first] == 0) ? first
+                    : (weights[second] == 0) ? second
+                    : worse(first, second, gen);
+            if (weights[victim] > 0 && generations[victim] == gen
+                    && weights[victim] > weight)
+                return false;
+
+            keys[victim] = key;
+            values[victim] = value;
+            weights[victim] = weight;
+            generations[victim] = gen;
+            return true;
+        }
+    }
+
+
+    /** @return the slot whose entry should be replaced first: one from an
+     *          earlier generation, otherwise the one with the lower weight */
+    private int worse(int first, int second, int gen){
+        boolean firstOld = generations[first] != gen;
+        boolean secondOld = generations[second] != gen;
+        if (firstOld != secondOld)
+            return firstOld ? first : second;
+        return (weights[first] <= weights[second]) ? first : second;
+    }
+
+
+    /** A result held in the table, as it was when it was looked up. */
+    public static final class Entry {
+        private final double value;
+        private final int weight;
+
+        Entry(double value, int weight){
+            this.value = value;
+            this.weight = weight;
+        }
+
+        /** @return the value of the state */
+        public double getValue(){
+            return value;
+        }
+
+        /** @return the total weight of the results merged into the value */
+        public int getWeight(){
+            return weight;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package model.sim;
+
+
+/**
+ * The random keys from which the Zobrist hash of a <code>GameState</code> is
+ * built.
+ * <p>
+ * The hash of a state is the exclusive or of one key for each owned
+ * property's owner and improvement level, one for each player's position,
+ * one for each player's money rounded down to a bucket of
+ * <code>MONEY_BUCKET</code>, and one each for Player 2 being the current
+ * player and for the first turn. A move only changes a few of these, so the
+ * hash is updated by exclusive or as the move is applied, rather than being
+ * recomputed. States whose money falls in the same buckets, but which are
+ * otherwise the same, have the same hash, as they are close enough to be
+ * evaluated as one.
+ * <p>
+ * The keys are derived from a fixed seed, so a state has the same hash in
+ * every run.
+ *
+ * @author Marcus Lowndes
+ */
+final class Zobrist {
+    /** The width of a bucket of money. */
+    static final double MONEY_BUCKET = 50.00;
+
+    /** The number of buckets of money; any more money than the last bucket
+     *  starts at falls into the last bucket. */
+    static final int MONEY_BUCKETS = 256;
+
+    /** The number of owner and improvement level combinations of an owned
+     *  property: two owners and up to four houses or a hotel. */
+    private static final int LEVELS = 2 * (GameState.HOTEL + 1);
+
+    private static final long SEED = 0x4D504C595A4F4252L;
+
+    private final int size;
+    private final long[] property;
+    private final long[] position;
+    private final long[] money;
+    final long playerTwo;
+    final long firstTurn;
+
+
+    /** @param  size    the number of positions on the board */
+    Zobrist(int size){
+        this.size = size;
+        property = new long[size * LEVELS];
+        position = new long[2 * size];
+        money = new long[2 * MONEY_BUCKETS];
+
+        long n = 0;
+        for (int i=0; i<property.length; i++)
+            property[i] = MonteCarloRunner.blockSeed(SEED, n++);
+        for (int i=0; i<position.length; i++)
+            position[i] = MonteCarloRunner.blockSeed(SEED, n++);
+        for (int i=0; i<money.length; i++)
+            money[i] = MonteCarloRunner.blockSeed(SEED, n++);
+        playerTwo = MonteCarloRunner.blockSeed(SEED, n++);
+        firstTurn = MonteCarloRunner.blockSeed(SEED, n);
+    }
+
+
+    /** @return the key of a property with an owner and improvement level */
+    long property(int index, int owner, int level){
+        return property[index * LEVELS + owner * (GameState.HOTEL + 1) + level];
+    }
+
+    /** @return the key of a player on a position */
+    long position(int player, int index){
+        return position[player * size + index];
+    }
+
+    /** @return the key of a player with a bucket of money */
+    long money(int player, int bucket){
+        return money[player * MONEY_BUCKETS + bucket];
+    }
+
+
+    /** @return the bucket that an amount of money falls into */
+    static int bucket(double amount){
+        if (amount <= 0)
+            return 0;
+        return (int) Math.min(amount / MONEY_BUCKET, MONEY_BUCKETS - 1);
+    }
+
+
+    /**
+     * @param   state   a game state on a board of this size
+     * @return  the hash of the state, computed from scratch
+     */
+    long hash(GameState state){
+        long h = 0;
+        for (int i=0; i<size; i++)
+            if (state.owner[i] != GameState.NO_OWNER)
+                h ^= property(i, state.owner[i], state.level[i]);
+
+        for (int p=0; p<2; p++)
+            h ^= position(p, state.position[p]) ^ money(p, bucket(state.money[p]));
+        if (state.current == 1)
+            h ^= playerTwo;
+        if (state.firstTurn)
+            h ^= firstTurn;
+        return h;
+    }
+}
@@ -0,0 +1,265 @@
+package server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import model.ModelMetrics;
+import model.ModelPool;
+
+
+/**
+ * A server that hosts any number of Minipoly games at once, each played by
+ * a client over its own TCP connection, using the line protocol described
+ * by <code>GameSession</code>.
+ * <p>
+ * Every connection is handled by a single thread, which waits on a selector
+ * for connections to become readable or writable and never blocks on any
+ * one of them. Commands take microseconds to carry out, so one thread keeps
+ * up with many thousands of sessions. The buffers used to receive commands
+ * and encode replies are shared by every session, so a session holds its
+ * own buffer only while a client is slow to accept a reply, and the games
+ * of sessions that have ended are reset and reused by new sessions.
+ *
+ * @author Marcus Lowndes
+ */
+public class GameServer implements Runnable, Closeable {
+    /** The port that the server listens on unless another is given. */
+    public static final int DEFAULT_PORT = 4000;
+
+    private static final int BUFFER_BYTES = 16 * 1024;
+
+    /** The most finished games held to be reused by new sessions. */
+    private static final int POOL_SIZE = 1024;
+
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final boolean cheatMode;
+    private final ModelPool pool = new ModelPool(POOL_SIZE);
+
+    private final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final StringBuilder reply = new StringBuilder(BUFFER_BYTES);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+    private volatile boolean running = true;
+    private volatile int sessions;
+
+    /** @return the number of games currently being played */
+    public int getSessionCount() {
+        return sessions;
+    }
+
+    /** @return the address that the server is listening on */
+    public InetSocketAddress getAddress() throws IOException {
+        return (InetSocketAddress) server.getLocalAddress();
+    }
+
+
+    /**
+     * Construct a server, listening on an address. No connections are
+     * accepted until the server is run.
+     *
+     * @param   address     the address to listen on. A port of 0 listens on
+     *                      any free port
+     * @param   cheatMode   true if clients may choose their dice rolls
+     * @throws  IOException if the server cannot listen on the address
+     */
+    public GameServer(InetSocketAddress address, boolean cheatMode) throws IOException {
+        this.cheatMode = cheatMode;
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.configureBlocking(false);
+        server.bind(address, 1024);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+
+    /** Accept connections and play their games, until the server is closed. */
+    @Override
+    public void run(){
+        try {
+            while (running) {
+                selector.select();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+
+                    try {
+                        if (!key.isValid())
+                            continue;
+                        if (key.isAcceptable())
+                            accept();
+                        else {
+                            if (key.isReadable())
+                                read(key);
+                            if (key.isValid() && key.isWritable())
+                                write(key);
+                        }
+                    } catch (IOException e) {
+                        // a failed connection only ends its own game
+                        end(key);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("The server's selector has failed.", e);
+        } finally {
+            for (SelectionKey key : selector.keys())
+                if (key.attachment() != null)
+                    end(key);
+            try {
+                server.close();
+                selector.close();
+            } catch (IOException e) {
+                // the server is stopping anyway
+            }
+        }
+    }
+
+
+    /** Start a game for each new connection. */
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = server.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+            GameSession session = new GameSession(channel, pool.acquire(),
+                    cheatMode);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ, session);
+            sessions++;
+
+            reply.setLength(0);
+            session.welcome(reply);
+            send(key, session);
+        }
+    }
+
+
+    /** Carry out the commands that a client has sent. */
+    private void read(SelectionKey key) throws IOException {
+        GameSession session = (GameSession) key.attachment();
+        in.clear();
+        int n = session.getChannel().read(in);
+        if (n < 0) {
+            end(key);
+            return;
+        }
+
+        in.flip();
+        reply.setLength(0);
+        session.receive(in, reply);
+        send(key, session);
+    }
+
+
+    /** Write the rest of a reply to a client that is ready for it. */
+    private void write(SelectionKey key) throws IOException {
+        GameSession session = (GameSession) key.attachment();
+        if (session.writePending()) {
+            key.interestOps(SelectionKey.OP_READ);
+            if (session.isClosing())
+                end(key);
+        }
+    }
+
+
+    /**
+     * Send the reply that has been built up to a client. Whatever the client
+     * will not accept straight away is held by the session, and written when
+     * the client is ready for it.
+     */
+    private void send(SelectionKey key, GameSession session) throws IOException {
+        if (reply.length() > 0) {
+            CharBuffer chars = CharBuffer.wrap(reply);
+            encoder.reset();
+
+            // a long reply is encoded and sent one buffer at a time
+            boolean encoded = false;
+            while (!encoded) {
+                out.clear();
+                CoderResult result = encoder.encode(chars, out, true);
+                if (result.isUnderflow())
+                    result = encoder.flush(out);
+                encoded = result.isUnderflow();
+                out.flip();
+
+                if (!session.hasPending())
+                    session.getChannel().write(out);
+                if (out.hasRemaining() && !session.hold(out)) {
+                    end(key);
+                    return;
+                }
+            }
+
+            if (session.hasPending())
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+
+        if (session.isClosing() && !session.hasPending())
+            end(key);
+    }
+
+
+    /** End a game and close its connection. */
+    private void end(SelectionKey key){
+        if (key.attachment() == null)
+            return;
+
+        GameSession session = (GameSession) key.attachment();
+        key.attach(null);
+        key.cancel();
+        sessions--;
+        pool.release(session.getModel());
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // the connection is being abandoned anyway
+        }
+    }
+
+
+    /** Stop accepting connections and end every game being played. */
+    @Override
+    public void close(){
+        running = false;
+        selector.wakeup();
+    }
+
+
+    /**
+     * Run a server from the command line.
+     *
+     * @param   args    the port to listen on, and "cheats" to let clients
+     *                  choose their dice rolls, both optional
+     * @throws  IOException if the server cannot listen on the port
+     */
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        boolean cheats = false;
+        for (String arg : args) {
+            if (arg.equals("cheats"))
+                cheats = true;
+            else
+                port = Integer.parseInt(arg);
+        }
+
+        GameServer server = new GameServer(new InetSocketAddress(port), cheats);
+        ModelMetrics.register();
+        System.out.println("Minipoly server listening on port " + port);
+        server.run();
+    }
+}
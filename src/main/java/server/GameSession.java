@@ -0,0 +1,278 @@
+package server;
+
+import controller.Controller;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import model.Model;
+import model.Player;
+
+
+/**
+ * A single game hosted by the <code>GameServer</code>, played by one client
+ * connection.
+ * <p>
+ * Each session is backed by its own Model and Controller, and understands the
+ * same commands as <code>CLIMain</code>, one per line:
+ * <ul>
+ *      <li><code>0</code>: exit the game</li>
+ *      <li><code>1</code>: next turn</li>
+ *      <li><code>2</code>: buy or improve the current player's position</li>
+ *      <li><code>3 n</code>: next turn with a roll of n, if cheats are
+ *          enabled on the server</li>
+ * </ul>
+ * Every reply is a number of lines of text, ended by an empty line. An idle
+ * session holds only its game, a small buffer for the command being received
+ * and any reply that the client has not yet accepted.
+ *
+ * @author Marcus Lowndes
+ */
+final class GameSession {
+    /** The longest command accepted, in bytes. */
+    private static final int MAX_LINE = 32;
+
+    /** The most reply text held for a client that is not reading, in bytes. */
+    private static final int MAX_PENDING = 64 * 1024;
+
+    private static final String INVALID_INPUT = "Please enter a valid input.";
+
+    private final SocketChannel channel;
+    private final Model model;
+    private final Controller controller;
+    private final boolean cheatMode;
+
+    private final byte[] line = new byte[MAX_LINE];
+    private int lineLength;
+    private boolean lineTooLong;
+
+    private ByteBuffer pending;
+    private boolean closing;
+
+    SocketChannel getChannel() {
+        return channel;
+    }
+
+    Model getModel() {
+        return model;
+    }
+
+    /** @return true once the session has ended, and should be closed as
+     *          soon as its last reply has been written */
+    boolean isClosing() {
+        return closing;
+    }
+
+    /** @return true if part of a reply is waiting to be written */
+    boolean hasPending() {
+        return pending != null && pending.position() > 0;
+    }
+
+
+    /**
+     * Construct a session.
+     *
+     * @param   channel     the client's connection
+     * @param   model       the game to play, in its opening state
+     * @param   cheatMode   true if the client may choose the dice rolls
+     */
+    GameSession(SocketChannel channel, Model model, boolean cheatMode){
+        this.channel = channel;
+        this.model = model;
+        this.cheatMode = cheatMode;
+        controller = new Controller(model);
+    }
+
+
+    /**
+     * Append the greeting sent when a client connects.
+     *
+     * @param   out the reply to append to
+     */
+    void welcome(StringBuilder out){
+        out.append("MINIPOLY\n");
+        model.appendTo(out);
+        appendStatus(out);
+    }
+
+
+    /**
+     * Accept the bytes received from the client, and carry out every command
+     * that they complete.
+     *
+     * @param   in      the bytes received
+     * @param   out     the reply to append to
+     */
+    void receive(ByteBuffer in, StringBuilder out){
+        while (in.hasRemaining() && !closing) {
+            byte b = in.get();
+
+            if (b == '\n') {
+                if (lineTooLong)
+                    out.append(INVALID_INPUT).append("\n\n");
+                else
+                    execute(out);
+                lineLength = 0;
+                lineTooLong = false;
+            }
+            else if (b != '\r') {
+                if (lineLength < MAX_LINE)
+                    line[lineLength++] = b;
+                else
+                    lineTooLong = true;
+            }
+        }
+    }
+
+
+    /**
+     * Carry out the command in the line that has been received.
+     *
+     * @param   out the reply to append to
+     */
+    private void execute(StringBuilder out){
+        char command = (lineLength == 0) ? ' ' : (char) line[0];
+        switch (command) {
+            // 0 ends the game
+            case '0':
+                out.append("GAME OVER\n\n");
+                closing = true;
+                return;
+
+            // 1 initiates the next turn
+            case '1':
+                if (lineLength != 1) {
+                    out.append(INVALID_INPUT).append('\n');
+                    break;
+                }
+                out.append(controller.nextTurn()).append('\n');
+                break;
+
+            // 2 buys or improves a property if possible
+            case '2':
+                if (lineLength != 1
+                        || controller.getCurrentPosnState() == Controller.posnState.NONE) {
+                    out.append(INVALID_INPUT).append('\n');
+                    break;
+                }
+                out.append(controller.interact()).append('\n');
+                break;
+
+            // 3 initiates the next turn with a chosen roll (cheat mode)
+            case '3':
+                int roll = parseRoll();
+                if (!cheatMode || roll < 1 || roll > 12) {
+                    out.append(INVALID_INPUT).append('\n');
+                    break;
+                }
+                out.append(model.nextTurn(roll)).append('\n');
+                break;
+
+            default:
+                out.append(INVALID_INPUT).append('\n');
+        }
+
+        if (model.isGameOver()) {
+            model.appendTo(out);
+            appendMoney(out);
+            Player winner = (model.getPlayerOne().getMoney() <= 0) ?
+                    model.getPlayerTwo() : model.getPlayerOne();
+            out.append(winner.toString()).append(" WINS!\nGAME OVER\n\n");
+            closing = true;
+        }
+        else
+            appendStatus(out);
+    }
+
+
+    /** @return the roll given by a cheat command of the form "3 n",
+     *          or -1 if the command is not of that form */
+    private int parseRoll(){
+        if (lineLength < 3 || lineLength > 4 || line[1] != ' ')
+            return -1;
+
+        int roll = 0;
+        for (int i=2; i<lineLength; i++) {
+            if (line[i] < '0' || line[i] > '9')
+                return -1;
+            roll = roll * 10 + (line[i] - '0');
+        }
+        return roll;
+    }
+
+
+    /** @param  out the reply to append both players' money to */
+    private void appendMoney(StringBuilder out){
+        out.append(model.getPlayerOne().toString()).append(": \u00a3")
+                .append(model.getPlayerOne().getMoney()).append("0\t\t")
+                .append(model.getPlayerTwo().toString()).append(": \u00a3")
+                .append(model.getPlayerTwo().getMoney()).append("0\n");
+    }
+
+
+    /** @param  out the reply to append the state of the game and the
+     *              available commands to */
+    private void appendStatus(StringBuilder out){
+        appendMoney(out);
+        out.append("It is now ").append(model.getCurrentPlayer().toString())
+                .append("'s turn.\nControls: 0 exit, 1 next turn");
+
+        switch (controller.getCurrentPosnState()) {
+            case BUYABLE:
+                out.append(", 2 buy");
+                break;
+            case IMPROVABLE:
+                out.append(", 2 improve");
+                break;
+            default:
+        }
+        if (cheatMode)
+            out.append(", 3 n choose roll");
+        out.append("\n\n");
+    }
+
+
+    /**
+     * Hold on to the part of a reply that the client has not yet accepted.
+     *
+     * @param   rest    the rest of the reply
+     * @return  false if the client has fallen too far behind, and the
+     *          session should be closed
+     */
+    boolean hold(ByteBuffer rest){
+        int needed = ((pending == null) ? 0 : pending.position()) + rest.remaining();
+        if (needed > MAX_PENDING)
+            return false;
+
+        if (pending == null || pending.remaining() < rest.remaining()) {
+            ByteBuffer grown = ByteBuffer.allocate(
+                    Math.min(2 * needed, MAX_PENDING));
+            if (pending != null) {
+                pending.flip();
+                grown.put(pending);
+            }
+            pending = grown;
+        }
+        pending.put(rest);
+        return true;
+    }
+
+
+    /**
+     * Write as much of the held reply as the client will accept.
+     *
+     * @return  true if the whole reply has been written
+     * @throws  IOException if the connection has failed
+     */
+    boolean writePending() throws IOException {
+        pending.flip();
+        channel.write(pending);
+        boolean done = !pending.hasRemaining();
+
+        // release the buffer once it is empty, so idle sessions hold none
+        if (done)
+            pending = null;
+        else
+            pending.compact();
+        return done;
+    }
+}
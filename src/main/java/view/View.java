@@ -1,11 +1,9 @@
 package view;
 
 
-import java.util.ArrayList;
-import java.util.Observable;
-import java.util.Observer;
 import java.util.Optional;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.geometry.Insets;
@@ -27,11 +25,12 @@ import javafx.stage.Stage;
 import controller.Controller;
 import controller.Controller.posnState;
 import model.*;
+import model.sim.SearchPlayer;
 
 
 /**
- * The View Class for the GUI version of the Minipoly Game, extending the
- * Observer class to follow the Model-View-Controller design pattern.
+ * The View Class for the GUI version of the Minipoly Game, listening to the
+ * Model's changes to follow the Model-View-Controller design pattern.
  * <p>
  * This uses the JavaFX Framework to create a desktop application version of
  * the Minipoly game with Graphical User Interface representing a board with
@@ -44,7 +43,7 @@ import model.*;
  *
  * @author Marcus Lowndes
  */
-public class View extends Application implements Observer {
+public class View extends Application implements GameListener {
 
     private Model model;
     private Controller controller;
@@ -63,9 +62,36 @@ public class View extends Application implements Observer {
     private final Button nextTurnBtn = new Button();
     private final Button interactBtn = new Button();
 
-    private final ArrayList<Pane> propertiesPanes = new ArrayList<>();
-    private final ArrayList<HBox> houseIcons = new ArrayList<>();
-    private final ArrayList<HBox> playerCounterPanes = new ArrayList<>();
+    // the panes of each position, indexed by position number
+    private Pane[] propertiesPanes;
+    private HBox[] houseIcons;
+    private HBox[] playerCounterPanes;
+
+    // the owner of each property as it is currently displayed,
+    // indexed by position number
+    private int[] ownerShown;
+
+    // player counters are created once and moved between positions
+    private final StackPane[] playerCounters = {
+            makePlayerCounter(true), makePlayerCounter(false) };
+    private final StackPane[] currentPlayerCounters = {
+            makePlayerCounter(true), makePlayerCounter(false) };
+    private final Label playerCounterSpace = new Label("  ");
+
+    // the backgrounds of unowned, Player 1 and Player 2 properties,
+    // each when idle, hovered over and clicked
+    private static final int BG_IDLE = 0, BG_HOVER = 1, BG_CLICK = 2;
+    private final Background[][] posnBackgrounds = {
+            { makePosnBackground(Color.TRANSPARENT),
+              makePosnBackground(Color.LIGHTGREY),
+              makePosnBackground(Color.DARKGREY) },
+            { makePosnBackground(Color.PINK),
+              makePosnBackground(Color.LIGHTPINK),
+              makePosnBackground(Color.TOMATO) },
+            { makePosnBackground(Color.LIGHTBLUE),
+              makePosnBackground(Color.SKYBLUE),
+              makePosnBackground(Color.DEEPSKYBLUE) }
+    };
 
     private final double height = 900, width = height / 0.8;
 
@@ -76,6 +102,13 @@ public class View extends Application implements Observer {
         controller = new Controller(model);
         controller.setView(this);
         makeCheatDialog();
+        makeComputerDialog();
+
+        int posns = controller.getBoardSize() + 1;
+        propertiesPanes = new Pane[posns];
+        houseIcons = new HBox[posns];
+        playerCounterPanes = new HBox[posns];
+        ownerShown = new int[posns];
 
         HBox root = new HBox();
         root.setPadding(new Insets(10, 10, 10, 10));
@@ -89,8 +122,8 @@ public class View extends Application implements Observer {
         stage.setScene(new Scene(root, width, height+7));
         stage.show();
 
-        model.addObserver(this);
-        update(null, null);
+        model.addListener(this);
+        showAll();
     }
 
 
@@ -121,6 +154,33 @@ public class View extends Application implements Observer {
     }
 
 
+    /**
+     * Creates an Alert that queries to the user if they want to play against
+     * the computer. If they click 'Yes', then Player 2 is played by the
+     * computer, otherwise, both players are played by people.
+     *
+     * @return Dialog window that adds a computer opponent if Yes is clicked
+     */
+    private Alert makeComputerDialog(){
+        Alert computerDialog = new Alert(Alert.AlertType.CONFIRMATION);
+        computerDialog.setTitle("Play against the computer?");
+        computerDialog.setHeaderText("Computer Opponent");
+        computerDialog.setContentText("Clicking Yes will let the computer play"
+                + " Player 2.\n\nThe computer decides whether to buy or"
+                + " improve each property it lands on.\n\n");
+
+        ButtonType yesBtn = new ButtonType("Yes", ButtonBar.ButtonData.YES);
+        ButtonType noBtn = new ButtonType("No", ButtonBar.ButtonData.NO);
+        computerDialog.getButtonTypes().setAll(yesBtn, noBtn);
+
+        Optional<ButtonType> result = computerDialog.showAndWait();
+        if (result.get() == yesBtn)
+            controller.setComputerOpponent(new SearchPlayer());
+
+        return computerDialog;
+    }
+
+
     /**
      * Creates the GUI for the board of the Minipoly game. This includes every
      * position in the game, displayed as rectangles and squares that line the
@@ -225,7 +285,22 @@ public class View extends Application implements Observer {
 
             // allow posn to be accessible to set bg colour in future
             posn.setId(String.valueOf(i));
-            propertiesPanes.add(posn);
+            propertiesPanes[i] = posn;
+
+            // the backgrounds also change colour if the mouse cursor is
+            // hovering over the position, or the user is clicking it
+            posn.setOnMouseEntered((MouseEvent e) -> {
+                posn.setBackground(posnBackgrounds[ownerShown[i]][BG_HOVER]);
+            });
+            posn.setOnMousePressed((MouseEvent e) -> {
+                posn.setBackground(posnBackgrounds[ownerShown[i]][BG_CLICK]);
+            });
+            posn.setOnMouseReleased((MouseEvent e) -> {
+                posn.setBackground(posnBackgrounds[ownerShown[i]][BG_HOVER]);
+            });
+            posn.setOnMouseExited((MouseEvent e) -> {
+                posn.setBackground(posnBackgrounds[ownerShown[i]][BG_IDLE]);
+            });
         }
 
         return posn;
@@ -248,22 +323,22 @@ public class View extends Application implements Observer {
                                       : new Insets(10, 10, 10, 10));
 
         // find posn in the model to display correct info
-        for (Position p : model.getBoard())
-            if (i == p.getNumber()){
-                // display a name if the position is a property or Go or Jail
-                Label roadLabel = new Label(
-                        (p.isProperty() || p.getNumber() == 1
-                                        || p.getNumber() == 21) ?
-                        p.nameToString() : ""
-                );
+        Position p = controller.getPosition(i);
+        if (p != null){
+            // display a name if the position is a property or Go or Jail
+            Label roadLabel = new Label(
+                    (p.isProperty() || p.getNumber() == 1
+                                    || p.getNumber() == 21) ?
+                    p.nameToString() : ""
+            );
 
-                // format box
-                roadLabel.setMaxWidth(w*boxsize - 14);
-                roadLabel.setAlignment(Pos.BOTTOM_CENTER);
-                roadLabel.setScaleX(2);
-                roadLabel.setScaleY(2);
-                posnNameBox.getChildren().add(roadLabel);
-            }
+            // format box
+            roadLabel.setMaxWidth(w*boxsize - 14);
+            roadLabel.setAlignment(Pos.BOTTOM_CENTER);
+            roadLabel.setScaleX(2);
+            roadLabel.setScaleY(2);
+            posnNameBox.getChildren().add(roadLabel);
+        }
 
         return posnNameBox;
     }
@@ -289,34 +364,34 @@ public class View extends Application implements Observer {
                                       : new Insets(5, 0, 5, 0 ));
 
         // find posn in the model to display correct info
-        for (Position p : model.getBoard())
-            if (i == p.getNumber()) {
-
-                // display property information
-                if (p.isProperty()) {
-                    posnInfoBox.getChildren().add(new Label(
-                            "£" + String.valueOf(p.getPrice()) + "0"
-                    ));
-
-                    HBox housesPane = new HBox(1);
-                    housesPane.setPadding(isHBox ? new Insets(2,0,2,0)
-                                                : new Insets(6,0,6,0));
-                    housesPane.setId(String.valueOf(i));
-                    houseIcons.add(housesPane);
-                    posnInfoBox.getChildren().add(housesPane);
-                } else {
-                    posnInfoBox.getChildren().add(new Label("  "));
-                }
-
-                // pane to display player(s) at position
-                HBox playersPane = new HBox();
-                playersPane.setId(String.valueOf(i));
-                if (isCorner)
-                    playersPane.setTranslateX(35);
-                playerCounterPanes.add(playersPane);
-                posnInfoBox.getChildren().add(playersPane);
+        Position p = controller.getPosition(i);
+        if (p != null) {
+
+            // display property information
+            if (p.isProperty()) {
+                posnInfoBox.getChildren().add(new Label(
+                        "£" + String.valueOf(p.getPrice()) + "0"
+                ));
+
+                HBox housesPane = new HBox(1);
+                housesPane.setPadding(isHBox ? new Insets(2,0,2,0)
+                                            : new Insets(6,0,6,0));
+                housesPane.setId(String.valueOf(i));
+                houseIcons[i] = housesPane;
+                posnInfoBox.getChildren().add(housesPane);
+            } else {
+                posnInfoBox.getChildren().add(new Label("  "));
             }
 
+            // pane to display player(s) at position
+            HBox playersPane = new HBox();
+            playersPane.setId(String.valueOf(i));
+            if (isCorner)
+                playersPane.setTranslateX(35);
+            playerCounterPanes[i] = playersPane;
+            posnInfoBox.getChildren().add(playersPane);
+        }
+
         return posnInfoBox;
     }
 
@@ -385,14 +460,15 @@ public class View extends Application implements Observer {
         nextTurnBtn.setMinSize(panelWidth, 40);
         nextTurnBtn.setOnAction((ActionEvent e) -> {
             messageLabel.setText(controller.nextTurn());
-            update(null, null);
+            updateControls();
+            playComputerTurn();
         });
         nextTurnBtn.defaultButtonProperty().bind(nextTurnBtn.focusedProperty());
 
         interactBtn.setMinSize(panelWidth, 40);
         interactBtn.setOnAction((ActionEvent e) -> {
             messageLabel.setText(controller.interact());
-            update(null, null);
+            updateControls();
         });
         interactBtn.defaultButtonProperty().bind(interactBtn.focusedProperty());
 
@@ -474,7 +550,8 @@ public class View extends Application implements Observer {
             messageLabel.setText(controller.cheatNextTurn(
                     cheatOptions.getValue()
             ));
-            update(null, null);
+            updateControls();
+            playComputerTurn();
         });
         return cheatOptions;
     }
@@ -492,41 +569,38 @@ public class View extends Application implements Observer {
     }
 
 
-    @Override
-    public void update(Observable o, Object arg) {
-        // update info pane
-        playerOneMoneyLabel.setText("£" + String.valueOf(
-                model.getPlayerOne().getMoney()
-        ) + "0");
-        playerTwoMoneyLabel.setText("£" + String.valueOf(
-                model.getPlayerTwo().getMoney()
-        ) + "0");
+    /** Draw the whole game, as it is when the GUI is first shown. */
+    private void showAll(){
+        onMoneyChanged(model.getPlayerOne(), model.getPlayerOne().getMoney());
+        onMoneyChanged(model.getPlayerTwo(), model.getPlayerTwo().getMoney());
         diceRollLabel.setText(String.valueOf(model.getDiceRoll()));
-        currentPlayerPane.getChildren().clear();
-        currentPlayerPane.getChildren().add(
-                makePlayerCounter(model.getCurrentPlayer().isPlayerOne())
-        );
+        currentPlayerPane.getChildren().setAll(currentPlayerCounters[
+                model.getCurrentPlayer().isPlayerOne() ? 0 : 1]);
+
+        // display every property's owner and improvements
+        for (Pane b : propertiesPanes)
+            if (b != null) {
+                Position p = controller.getPosition(Integer.parseInt(b.getId()));
+                onOwnershipChanged(p, p.getOwner());
+                onImprovementAdded(p);
+            }
 
         // display player counters
-        for (HBox p : playerCounterPanes)
-            updatePlayers(p);
+        updatePlayersPane(model.getPlayerOne().getPosition().getNumber());
+        updatePlayersPane(model.getPlayerTwo().getPosition().getNumber());
 
-        // enable/disable interact button
-        updateButton(controller.getCurrentPosnState());
-
-        // for each position on the board...
-        for (Position p : model.getBoard()) {
+        updateControls();
+    }
 
-            // ...display number of improvements
-            for (HBox b : houseIcons)
-                if (controller.isPosn(b.getId(), p.getNumber()))
-                    updateHouses(p, b);
 
-            // ...colour code the positions, based on ownership
-            for (Pane b : propertiesPanes)
-                if (controller.isPosn(b.getId(), p.getNumber()))
-                    updatePosnBackgrounds(p, b);
-        }
+    /**
+     * Update the controls after the user has taken an action. The interact
+     * button is enabled or disabled, and if the game is over, the end of
+     * the game is announced.
+     */
+    private void updateControls(){
+        // enable/disable interact button
+        updateButton(controller.getCurrentPosnState());
 
         // end game
         if (model.isGameOver()){
@@ -536,32 +610,139 @@ public class View extends Application implements Observer {
                 cheatOptions.setDisable(true);
 
             messageLabel.setText(messageLabel.getText() + "\n\n\t   GAME OVER");
-            String w = (model.getPlayerOne().getMoney() <= 0) ? "2" : "1";
-            winnerLabel.setText("Player " + w + " Wins!");
         }
+    }
+
+
+    /**
+     * If Player 2 is the computer opponent and has just moved, let them buy
+     * and improve their position for as long as they decide to. Each
+     * decision is searched for on a background thread, so that the window
+     * keeps responding, and is then applied on the JavaFX thread. The
+     * controls are disabled until the computer has finished, so the game
+     * does not change while it is deciding.
+     */
+    private void playComputerTurn(){
+        if (!controller.isComputerTurn() || model.isGameOver())
+            return;
+
+        setControlsDisabled(true);
+        Thread search = new Thread(() -> {
+            boolean interact = false;
+            try {
+                interact = controller.computerDecides();
+            } finally {
+                // carry on with the game even if the search fails
+                boolean decided = interact;
+                Platform.runLater(() -> computerDecided(decided));
+            }
+        }, "Computer Opponent");
+        search.setDaemon(true);
+        search.start();
+    }
+
+
+    /**
+     * Apply the computer opponent's decision on the JavaFX thread, and let
+     * them decide again after an action, or give the controls back.
+     *
+     * @param   interact    true if the computer decided to buy or improve
+     */
+    private void computerDecided(boolean interact){
+        if (interact) {
+            messageLabel.setText(messageLabel.getText() + "\n"
+                    + controller.computerInteract());
+            if (!model.isGameOver()) {
+                playComputerTurn();
+                return;
+            }
+        }
+        setControlsDisabled(false);
+        updateControls();
+    }
+
+
+    /** @param  disabled    true to disable every control of the game */
+    private void setControlsDisabled(boolean disabled){
+        nextTurnBtn.setDisable(disabled);
+        interactBtn.setDisable(disabled);
+        if (cheatMode)
+            cheatOptions.setDisable(disabled);
+    }
+
+
+    /** Display the dice roll, the current player and their counter's move. */
+    @Override
+    public void onPlayerMoved(Player player, int roll, int from, int to,
+                              boolean jailed) {
+        diceRollLabel.setText(String.valueOf(roll));
+        currentPlayerPane.getChildren().setAll(
+                currentPlayerCounters[player.isPlayerOne() ? 0 : 1]);
+
+        updatePlayersPane(from);
+        updatePlayersPane(to);
+    }
+
+
+    /** Display a player's new amount of money. */
+    @Override
+    public void onMoneyChanged(Player player, double money) {
+        Label moneyLabel = player.isPlayerOne() ? playerOneMoneyLabel
+                                                : playerTwoMoneyLabel;
+        moneyLabel.setText("£" + String.valueOf(money) + "0");
+    }
+
+
+    /** Colour code a property, based on its new owner. */
+    @Override
+    public void onOwnershipChanged(Position position, Player owner) {
+        int i = position.getNumber();
+        ownerShown[i] = (owner == null) ? 0 : owner.isPlayerOne() ? 1 : 2;
+        propertiesPanes[i].setBackground(posnBackgrounds[ownerShown[i]][BG_IDLE]);
+    }
 
+
+    /** Display the improvements on a property. */
+    @Override
+    public void onImprovementAdded(Position position) {
+        updateHouses(position, houseIcons[position.getNumber()]);
+    }
+
+
+    /** Display the winner of the game. */
+    @Override
+    public void onGameOver(Player winner) {
+        nextTurnBtn.setDisable(true);
+        interactBtn.setDisable(true);
+        if (cheatMode)
+            cheatOptions.setDisable(true);
+
+        winnerLabel.setText("Player " + (winner.isPlayerOne() ? "1" : "2")
+                + " Wins!");
     }
 
 
     /**
-     * Update the positions on the board where the players are present.
+     * Update a position on the board where the players may be present.
      *
-     * @param   playersPane a Pane in which to create player counters
-     *                      if a player is on the parent position
+     * @param   i   the number of the position, or 0 if there is none
      */
-    private void updatePlayers(HBox playersPane){
+    private void updatePlayersPane(int i){
+        if (i == 0)
+            return;
+
+        HBox playersPane = playerCounterPanes[i];
         playersPane.getChildren().clear();
-        String id = playersPane.getId();
 
-        if (controller.isPlayerOnPosn(id, true))
+        if (controller.isPlayerOnPosn(i, true))
             playersPane.getChildren().addAll(
-                    makePlayerCounter(true),
-                    new Label("  ")
+                    playerCounters[0],
+                    playerCounterSpace
             );
 
-        if (controller.isPlayerOnPosn(id, false))
+        if (controller.isPlayerOnPosn(i, false))
             playersPane.getChildren().add(
-                    makePlayerCounter(false)
+                    playerCounters[1]
             );
     }
 
@@ -621,56 +802,6 @@ public class View extends Application implements Observer {
     }
 
 
-    /**
-     * Colour codes the property positions, based on their owner. If a position
-     * has an owner, that player's colour is displayed in the background of the
-     * position. If there is no owner, the background is left transparent.
-     * <p>
-     * For aesthetic reasons, and the backgrounds also change colour if the
-     * mouse cursor is hovering over the position, or is the user is clicking
-     * the position. This will most likely occur when the user wants to inspect
-     * all the information about a property position.
-     *
-     * @param   p   the position on the board
-     * @param   b   the position Pane in the GUI for which the background
-     *              may be updated
-     */
-    private void updatePosnBackgrounds(Position p, Pane b){
-        Color bgColour, bgColourHover, bgColourClick;
-
-        if (p.getOwner() != null) {
-            if (!p.getOwner().isPlayerOne()) {
-                bgColour      = Color.LIGHTBLUE;
-                bgColourHover = Color.SKYBLUE;
-                bgColourClick = Color.DEEPSKYBLUE;
-            } else {
-                bgColour      = Color.PINK;
-                bgColourHover = Color.LIGHTPINK;
-                bgColourClick = Color.TOMATO;
-            }
-        } else {
-            bgColour      = Color.TRANSPARENT;
-            bgColourHover = Color.LIGHTGREY;
-            bgColourClick = Color.DARKGREY;
-        }
-
-        Background bg = makePosnBackground(bgColour);
-        b.setBackground(bg);
-        b.setOnMouseEntered((MouseEvent e) -> {
-            b.setBackground(makePosnBackground(bgColourHover));
-        });
-        b.setOnMousePressed((MouseEvent e) -> {
-            b.setBackground(makePosnBackground(bgColourClick));
-        });
-        b.setOnMouseReleased((MouseEvent e) -> {
-            b.setBackground(makePosnBackground(bgColourHover));
-        });
-        b.setOnMouseExited((MouseEvent e) -> {
-            b.setBackground(bg);
-        });
-    }
-
-
     /**
      * @param   c   the colour of the background
      * @return  a background with no corner radii or insets
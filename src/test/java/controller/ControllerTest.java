@@ -0,0 +1,171 @@
+package controller;
+
+import model.Model;
+import model.Position;
+import model.sim.SearchPlayer;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+
+/**
+ * JUnit Tests for the Controller Class
+ *
+ * @author Marcus Lowndes
+ */
+public class ControllerTest {
+
+    public ControllerTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("Start Controller Tests");
+        System.out.println("=================================\n");
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("End Controller Tests\n");
+    }
+
+    @Before
+    public void setUp() {
+        System.out.println("Test start");
+    }
+
+    @After
+    public void tearDown() {
+        System.out.println("End test\n");
+        System.out.println("=================================\n");
+    }
+
+
+    /**
+     * Test of getPosition method, of class Controller.
+     * Expected: Every number, on and off the board, gives the same position
+     * as searching the board for it.
+     */
+    @Test
+    public void testGetPosition() {
+        System.out.println("getPosition");
+        Model model = new Model();
+        Controller instance = new Controller(model);
+
+        for (int i = -1; i <= model.getBoard().size() + 1; i++) {
+            Position expResult = null;
+            for (Position p : model.getBoard())
+                if (p.getNumber() == i)
+                    expResult = p;
+            assertSame(expResult, instance.getPosition(i));
+        }
+        assertEquals(model.getBoard().size(), instance.getBoardSize());
+    }
+
+
+    /**
+     * Test of isPosn and isPlayerOnPosn methods, of class Controller.
+     * Both players take turns around the board, and after every turn every
+     * position ID is checked.
+     * Expected: The ID number overloads give the same answers as the ID
+     * String overloads, each player is only on their own position, and an
+     * ID that is not a number is never a position.
+     */
+    @Test
+    public void testIsPlayerOnPosn() {
+        System.out.println("isPosn, isPlayerOnPosn");
+        Model model = new Model();
+        Controller instance = new Controller(model);
+        int size = model.getBoard().size();
+
+        for (int id=1; id<=size; id++)
+            for (int num=1; num<=size; num++)
+                assertEquals(instance.isPosn(String.valueOf(id), num),
+                        instance.isPosn(id, num));
+        for (String id : new String[] {null, "", "A1", "01", " 1"}) {
+            assertFalse(instance.isPosn(id, 1));
+            assertFalse(instance.isPlayerOnPosn(id, true));
+        }
+
+        for (int turn=0; turn<60; turn++) {
+            model.nextTurn(turn % 11 + 1);
+            for (int id=1; id<=size; id++)
+                for (boolean isPlayerOne : new boolean[] {true, false}) {
+                    boolean expResult = (isPlayerOne ? model.getPlayerOne()
+                            : model.getPlayerTwo()).getPosition().getNumber() == id;
+                    assertEquals(expResult, instance.isPlayerOnPosn(id, isPlayerOne));
+                    assertEquals(expResult, instance.isPlayerOnPosn(
+                            String.valueOf(id), isPlayerOne));
+                }
+        }
+    }
+
+
+    /**
+     * Test of interact and getCurrentPosnState methods, of class Controller,
+     * with a computer opponent.
+     * Player 2 is moved onto A1, which nobody owns, without the computer
+     * being asked whether to buy it, as if it had decided not to.
+     * Expected: The position cannot be bought for the computer, and nothing
+     * changes until it is Player 1's turn again.
+     */
+    @Test
+    public void testInteractComputerTurn() {
+        System.out.println("interact, computer's turn");
+        Model model = new Model();
+        Controller instance = new Controller(model);
+        model.nextTurn(1);
+        model.nextTurn(1);
+        assertSame(model.getPlayerTwo(), model.getCurrentPlayer());
+        assertTrue(model.isCurrentPosnBuyable());
+        assertEquals(Controller.posnState.BUYABLE, instance.getCurrentPosnState());
+
+        instance.setComputerOpponent(new SearchPlayer());
+        assertTrue(instance.isComputerTurn());
+        assertEquals(Controller.posnState.NONE, instance.getCurrentPosnState());
+
+        String result = instance.interact();
+        System.out.println("\nResult:\n" + result);
+        assertEquals("It is the computer's turn.", result);
+        assertNull(model.getPlayerTwo().getPosition().getOwner());
+        assertEquals(2000, model.getPlayerTwo().getMoney(), 0);
+
+        // Player 1 may act on their own turn
+        model.nextTurn(2);
+        assertFalse(instance.isComputerTurn());
+        assertEquals(Controller.posnState.BUYABLE, instance.getCurrentPosnState());
+    }
+
+
+    /**
+     * Test of computerDecides, computerInteract and computerTurn methods, of
+     * class Controller.
+     * Player 2 is moved onto A1, which nobody owns.
+     * Expected: The computer never decides on Player 1's turn or without a
+     * computer opponent, and on its own turn it buys A1 if and only if its
+     * turn reports an action.
+     */
+    @Test
+    public void testComputerTurn() {
+        System.out.println("computerDecides, computerInteract, computerTurn");
+        Model model = new Model();
+        Controller instance = new Controller(model);
+        model.nextTurn(1);
+        assertFalse(instance.computerDecides());
+        assertEquals("", instance.computerTurn());
+
+        instance.setComputerOpponent(new SearchPlayer());
+        assertFalse(instance.computerDecides());
+        assertEquals("", instance.computerTurn());
+
+        model.nextTurn(1);
+        assertTrue(instance.isComputerTurn());
+        String result = instance.computerTurn();
+        System.out.println("\nResult:\n" + result);
+        assertEquals(!result.isEmpty(),
+                model.getPlayerTwo().getPosition().getOwner() == model.getPlayerTwo());
+    }
+}
@@ -0,0 +1,172 @@
+package model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+
+/**
+ * JUnit Tests for the FlightEvents Class. The events are only emitted when
+ * the JVM is started with <code>-Dminipoly.jfr=true</code>, as the Maven
+ * build does, and the tests are skipped otherwise.
+ *
+ * @author Marcus Lowndes
+ */
+public class FlightEventsTest {
+
+    public FlightEventsTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("Start FlightEvents Tests");
+        System.out.println("=================================\n");
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("End FlightEvents Tests\n");
+    }
+
+    @Before
+    public void setUp() {
+        System.out.println("Test start");
+        assumeTrue("-Dminipoly.jfr=true is not set", FlightEvents.ENABLED);
+    }
+
+    @After
+    public void tearDown() {
+        System.out.println("End test\n");
+        System.out.println("=================================\n");
+    }
+
+
+    /** The names of every event. */
+    private static final String[] NAMES = {"minipoly.Turn", "minipoly.Rent",
+            "minipoly.Purchase", "minipoly.Improvement",
+            "minipoly.GameCompleted"};
+
+    /** The counts of a game played to its end, buying whatever it can. */
+    private static long turns, jailHits, purchases, improvements, rents;
+
+    private static Model play(){
+        Model model = new Model(new Dice(2021));
+        turns = jailHits = purchases = improvements = rents = 0;
+        while (!model.isGameOver() && turns < 10000) {
+            TurnEvent event = model.nextTurn();
+            turns++;
+            if (event.isJailed())
+                jailHits++;
+            if (event.getPayee() != null)
+                rents++;
+            if (model.isCurrentPosnBuyable()) {
+                model.interactCurrentPrpt();
+                purchases++;
+            } else if (model.isCurrentPosnImprovable()) {
+                model.interactCurrentPrpt();
+                improvements++;
+            }
+        }
+        assertTrue(model.isGameOver());
+        return model;
+    }
+
+
+    /**
+     * Play a game while recording some of the events. Every other event is
+     * disabled, as an event is enabled by default.
+     *
+     * @param   names   the names of the events to enable
+     * @return  the events recorded
+     */
+    private static List<RecordedEvent> record(String... names)
+            throws IOException {
+        Path file = Files.createTempFile("minipoly", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : NAMES)
+                if (Arrays.asList(names).contains(name))
+                    recording.enable(name);
+                else
+                    recording.disable(name);
+            recording.start();
+            play();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+
+    private static long count(List<RecordedEvent> events, String name){
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(name))
+                .count();
+    }
+
+
+    /**
+     * Test of the events emitted by a game, of class FlightEvents.
+     * Expected: A recording of a whole game holds one Turn event for every
+     * turn, one Rent event for every payment of rent, one Purchase or
+     * Improvement event for every action and one GameCompleted event, with
+     * the number of turns the game lasted.
+     */
+    @Test
+    public void testEvents() throws IOException {
+        System.out.println("turn, rent, action, gameOver");
+        List<RecordedEvent> events = record(NAMES);
+        System.out.println("\nResult:\n" + events.size() + " events, "
+                + turns + " turns");
+
+        assertEquals(turns, count(events, "minipoly.Turn"));
+        assertEquals(rents, count(events, "minipoly.Rent"));
+        assertEquals(purchases, count(events, "minipoly.Purchase"));
+        assertEquals(improvements, count(events, "minipoly.Improvement"));
+        assertEquals(1, count(events, "minipoly.GameCompleted"));
+
+        long jailed = events.stream()
+                .filter(e -> e.getEventType().getName().equals("minipoly.Turn")
+                        && e.getBoolean("jailed"))
+                .count();
+        assertEquals(jailHits, jailed);
+        for (RecordedEvent e : events)
+            if (e.getEventType().getName().equals("minipoly.GameCompleted"))
+                assertEquals(turns, e.getLong("turns"));
+            else if (e.getEventType().getName().equals("minipoly.Turn")) {
+                assertTrue(e.getInt("roll") > 0 && e.getInt("roll") < 13);
+                assertTrue(e.getInt("player") == 1 || e.getInt("player") == 2);
+            }
+    }
+
+
+    /**
+     * Test of the events emitted by a game, of class FlightEvents, with only
+     * some events enabled.
+     * Expected: Only the enabled events are recorded.
+     */
+    @Test
+    public void testOnlyEnabledEvents() throws IOException {
+        System.out.println("turn, rent, action, gameOver, some enabled");
+        List<RecordedEvent> events = record("minipoly.GameCompleted");
+
+        assertEquals(1, count(events, "minipoly.GameCompleted"));
+        assertEquals(0, count(events, "minipoly.Turn"));
+        assertEquals(0, count(events, "minipoly.Rent"));
+        assertEquals(0, count(events, "minipoly.Purchase"));
+        assertEquals(0, count(events, "minipoly.Improvement"));
+    }
+}
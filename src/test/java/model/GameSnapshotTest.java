@@ -0,0 +1,207 @@
+package model;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+
+/**
+ * JUnit Tests for the GameSnapshot Class
+ *
+ * @author Marcus Lowndes
+ */
+public class GameSnapshotTest {
+
+    public GameSnapshotTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("Start GameSnapshot Tests");
+        System.out.println("=================================\n");
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("End GameSnapshot Tests\n");
+    }
+
+    @Before
+    public void setUp() {
+        System.out.println("Test start");
+    }
+
+    @After
+    public void tearDown() {
+        System.out.println("End test\n");
+        System.out.println("=================================\n");
+    }
+
+
+    /** Play a game for a number of turns, buying and improving whenever
+     *  possible. */
+    private static Model play(int turns){
+        Model model = new Model();
+        for (int t=0; t<turns && !model.isGameOver(); t++) {
+            model.nextTurn();
+            if (model.isCurrentPosnBuyable() || model.isCurrentPosnImprovable())
+                model.interactCurrentPrpt();
+        }
+        return model;
+    }
+
+
+    /** Run a game to its end, recording the text of every turn. */
+    private static String finish(Model model){
+        StringBuilder sb = new StringBuilder();
+        while (!model.isGameOver()) {
+            sb.append(model.nextTurn()).append('\n');
+            if (model.isCurrentPosnBuyable() || model.isCurrentPosnImprovable())
+                sb.append(model.interactCurrentPrpt()).append('\n');
+        }
+        return model.appendTo(sb).toString();
+    }
+
+
+    /**
+     * Test of write and read methods, of class GameSnapshot.
+     * Expected: A restored game has the same board and, because the dice
+     * are restored too, plays out exactly the same as the original game.
+     */
+    @Test
+    public void testRoundTrip() {
+        System.out.println("write, read");
+        Model original = play(60);
+        ByteBuffer buf = ByteBuffer.allocate(GameSnapshot.sizeOf(original));
+        GameSnapshot.write(original, buf);
+        assertFalse(buf.hasRemaining());
+
+        Model restored = play(25);
+        buf.flip();
+        GameSnapshot.read(buf, restored);
+
+        assertEquals(original.toString(), restored.toString());
+        assertEquals(original.getPlayerOne().getMoney(),
+                restored.getPlayerOne().getMoney(), 0);
+        assertEquals(original.getCurrentPlayer().isPlayerOne(),
+                restored.getCurrentPlayer().isPlayerOne());
+        assertEquals(original.getPlayerOne().getOwnedRoads(),
+                restored.getPlayerOne().getOwnedRoads());
+
+        String expResult = finish(original);
+        String result = finish(restored);
+        assertEquals(expResult, result);
+        System.out.println("\nSnapshot of " + buf.capacity() + " bytes");
+    }
+
+
+    /**
+     * Test of saveAll and loadAll methods, of class GameSnapshot.
+     * Expected: A batch of games saved to a memory-mapped file is loaded
+     * back in order.
+     */
+    @Test
+    public void testSaveAllLoadAll() throws Exception {
+        System.out.println("saveAll, loadAll");
+        List<Model> games = new ArrayList<>();
+        for (int i=0; i<100; i++)
+            games.add(play(i));
+
+        Path file = Files.createTempFile("minipoly", ".snapshot");
+        try {
+            GameSnapshot.saveAll(games, file);
+            List<Model> loaded = GameSnapshot.loadAll(file);
+
+            assertEquals(games.size(), loaded.size());
+            for (int i=0; i<games.size(); i++)
+                assertEquals(finish(games.get(i)), finish(loaded.get(i)));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+
+    /**
+     * Test of read method, of class GameSnapshot, given a corrupt snapshot.
+     * Expected: The snapshot is rejected and the game is left unchanged.
+     */
+    @Test
+    public void testReadCorrupt() {
+        System.out.println("read, corrupt snapshot");
+        Model original = play(40);
+        ByteBuffer buf = ByteBuffer.allocate(GameSnapshot.sizeOf(original));
+        GameSnapshot.write(original, buf);
+
+        // give GO an owner
+        byte[] bytes = Arrays.copyOf(buf.array(), buf.capacity());
+        bytes[7] = 1;
+
+        Model instance = play(30);
+        String expResult = instance.toString();
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> GameSnapshot.read(ByteBuffer.wrap(bytes), instance));
+
+        assertEquals("Position 1 is corrupt in the snapshot.", e.getMessage());
+        assertEquals(expResult, instance.toString());
+    }
+
+
+    /** @return the bytes of a snapshot of a game */
+    private static byte[] snapshotOf(Model model) {
+        ByteBuffer buf = ByteBuffer.allocate(GameSnapshot.sizeOf(model));
+        GameSnapshot.write(model, buf);
+        return buf.array();
+    }
+
+
+    /**
+     * Test of read method, of class GameSnapshot, given a snapshot that is
+     * cut short, or whose turn is corrupt.
+     * Expected: Every snapshot is rejected with an IllegalArgumentException
+     * before any of the game is replaced.
+     */
+    @Test
+    public void testReadTruncatedOrCorruptTurn() {
+        System.out.println("read, truncated snapshot and corrupt turn");
+        byte[] bytes = snapshotOf(play(40));
+        Model instance = play(30);
+        byte[] expResult = snapshotOf(instance);
+
+        for (int length=0; length<bytes.length; length++) {
+            ByteBuffer buf = ByteBuffer.wrap(bytes, 0, length);
+            assertThrows(IllegalArgumentException.class,
+                    () -> GameSnapshot.read(buf, instance));
+            assertArrayEquals(expResult, snapshotOf(instance));
+        }
+
+        // the flags, then the dice roll, follow the players
+        int flags = bytes.length - 10;
+        byte[][] corrupt = new byte[4][];
+        for (int i=0; i<corrupt.length; i++)
+            corrupt[i] = Arrays.copyOf(bytes, bytes.length);
+        corrupt[0][flags] |= 0x08;
+        corrupt[1][flags + 1] = 13;
+        corrupt[2][flags + 1] = -1;
+        corrupt[3][flags + 1] = 0;
+
+        for (byte[] b : corrupt) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> GameSnapshot.read(ByteBuffer.wrap(b), instance));
+            System.out.println(e.getMessage());
+            assertArrayEquals(expResult, snapshotOf(instance));
+        }
+
+        // the original snapshot is still read
+        GameSnapshot.read(ByteBuffer.wrap(bytes), instance);
+        assertArrayEquals(bytes, snapshotOf(instance));
+    }
+}
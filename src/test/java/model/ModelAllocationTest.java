@@ -0,0 +1,140 @@
+package model;
+
+import java.lang.management.ManagementFactory;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+
+
+/**
+ * JUnit Tests of the memory allocated by the Model Class while a game is
+ * played headless, with no listeners attached and no text rendered, as the
+ * server's pooled games and the simulations play it. Any allocation on this
+ * path, such as a String built or an iterator created every turn, fails
+ * these tests.
+ *
+ * @author Marcus Lowndes
+ */
+public class ModelAllocationTest {
+    /** The most bytes that a turn may allocate, once the game is warmed up. */
+    private static final long BUDGET_PER_TURN = 0;
+
+    /** Turns played before measuring, so that the hot path is compiled. */
+    private static final int WARMUP_TURNS = 500000;
+
+    /** Turns played in each measurement. */
+    private static final int MEASURED_TURNS = 100000;
+
+    /** Measurements taken; the lowest is checked, so that a compilation or
+     *  class load which happens to fall in one measurement is ignored. */
+    private static final int MEASUREMENTS = 5;
+
+    private static com.sun.management.ThreadMXBean threads;
+
+    public ModelAllocationTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("Start Model Allocation Tests");
+        System.out.println("=================================\n");
+        if (ManagementFactory.getThreadMXBean()
+                instanceof com.sun.management.ThreadMXBean)
+            threads = (com.sun.management.ThreadMXBean)
+                    ManagementFactory.getThreadMXBean();
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("End Model Allocation Tests\n");
+    }
+
+    @Before
+    public void setUp() {
+        System.out.println("Test start");
+        assumeTrue("This JVM cannot measure the memory allocated by a thread.",
+                threads != null && threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @After
+    public void tearDown() {
+        System.out.println("End test\n");
+        System.out.println("=================================\n");
+    }
+
+
+    /** @return the bytes allocated by the current thread so far */
+    private static long allocated() {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+
+    /**
+     * Play turns of a game, buying or improving every property that can be,
+     * and starting a new game whenever one ends.
+     *
+     * @param   model   the game
+     * @param   turns   the number of turns to play
+     * @param   seed    the start of the sequence of rolls
+     * @return  the next value of the sequence of rolls
+     */
+    private static int play(Model model, int turns, int seed) {
+        for (int i=0; i<turns; i++) {
+            seed = seed * 1103515245 + 12345;
+            model.nextTurn(((seed >>> 16) % 11) + 2);
+            if (model.isCurrentPosnBuyable() || model.isCurrentPosnImprovable())
+                model.interactCurrentPrpt();
+            if (model.isGameOver())
+                model.reset();
+        }
+        return seed;
+    }
+
+
+    /**
+     * Measure the fewest bytes allocated by a number of turns, less the
+     * bytes allocated by measuring.
+     *
+     * @param   model   the game
+     * @param   turns   the number of turns to play in each measurement
+     * @return  the fewest bytes allocated, across the measurements
+     */
+    private static long measure(Model model, int turns) {
+        int seed = play(model, WARMUP_TURNS, 2021);
+
+        long overhead = Long.MAX_VALUE;
+        long least = Long.MAX_VALUE;
+        for (int m=0; m<MEASUREMENTS; m++) {
+            long before = allocated();
+            overhead = Math.min(overhead, allocated() - before);
+
+            before = allocated();
+            seed = play(model, turns, seed);
+            least = Math.min(least, allocated() - before);
+        }
+        return Math.max(least - overhead, 0);
+    }
+
+
+    /**
+     * Test of nextTurn method, of class Model.
+     * Expected: Once the game is warmed up, turns with no listeners attached
+     * allocate no more than the budget.
+     */
+    @Test
+    public void testNextTurnAllocation() {
+        System.out.println("nextTurn allocation");
+        long bytes = measure(new Model(new Dice(2021)), MEASURED_TURNS);
+        System.out.println(bytes + " bytes allocated in " + MEASURED_TURNS
+                + " turns");
+        assertTrue(bytes + " bytes were allocated in " + MEASURED_TURNS
+                + " turns, over the budget of " + BUDGET_PER_TURN
+                + " bytes per turn.",
+                bytes <= BUDGET_PER_TURN * MEASURED_TURNS);
+    }
+}
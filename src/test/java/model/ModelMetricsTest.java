@@ -0,0 +1,133 @@
+package model;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+
+/**
+ * JUnit Tests for the ModelMetrics Class
+ *
+ * @author Marcus Lowndes
+ */
+public class ModelMetricsTest {
+
+    public ModelMetricsTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("Start ModelMetrics Tests");
+        System.out.println("=================================\n");
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("End ModelMetrics Tests\n");
+    }
+
+    @Before
+    public void setUp() {
+        System.out.println("Test start");
+    }
+
+    @After
+    public void tearDown() {
+        System.out.println("End test\n");
+        System.out.println("=================================\n");
+    }
+
+
+    /**
+     * Test of snapshot method, of class ModelMetrics.
+     * Games are played with several seeds. In the first five, a player only
+     * buys or improves while they have over 500, so the games end on rent,
+     * and in the last every player spends everything, so it ends on an
+     * action.
+     * Expected: Once a game ends, the turns, jail hits, purchases,
+     * improvements and completed game it played are all counted, without
+     * the game's metrics being flushed, and the game's length is every turn
+     * it played, including the turn that ended it.
+     */
+    @Test
+    public void testSnapshot() {
+        System.out.println("snapshot");
+        boolean endedOnRent = false, endedOnAction = false;
+        for (long seed : new long[] {1, 2, 3, 4, 5, 2021}) {
+            ModelMetrics.Snapshot before = ModelMetrics.get().snapshot();
+
+            Model model = new Model(new Dice(seed));
+            double reserve = (seed == 2021) ? 0 : 500;
+            long turns = 0, jailHits = 0, purchases = 0, improvements = 0;
+            while (!model.isGameOver() && turns < 10000) {
+                TurnEvent event = model.nextTurn();
+                turns++;
+                if (event.isJailed())
+                    jailHits++;
+                if (model.isGameOver())
+                    endedOnRent = true;
+                else if (model.getCurrentPlayer().getMoney() <= reserve)
+                    continue;
+                else if (model.isCurrentPosnBuyable()) {
+                    model.interactCurrentPrpt();
+                    purchases++;
+                    endedOnAction = model.isGameOver();
+                } else if (model.isCurrentPosnImprovable()) {
+                    model.interactCurrentPrpt();
+                    improvements++;
+                    endedOnAction = model.isGameOver();
+                }
+            }
+            assertTrue(model.isGameOver());
+
+            ModelMetrics.Snapshot after = ModelMetrics.get().snapshot();
+            System.out.println(turns + " turns: " + after);
+            assertEquals(turns, after.getTurns() - before.getTurns());
+            assertEquals(jailHits, after.getJailHits() - before.getJailHits());
+            assertEquals(purchases, after.getPurchases() - before.getPurchases());
+            assertEquals(improvements,
+                    after.getImprovements() - before.getImprovements());
+            assertEquals(1, after.getGamesCompleted() - before.getGamesCompleted());
+
+            // the total length of every game, before and after this one
+            double length = after.getMeanGameLength() * after.getGamesCompleted()
+                    - before.getMeanGameLength() * before.getGamesCompleted();
+            assertEquals(turns, length, 1e-3);
+            int bucket = (int) Math.min(turns / ModelMetrics.GAME_LENGTH_BUCKET_WIDTH,
+                    ModelMetrics.GAME_LENGTH_BUCKETS - 1);
+            assertEquals(1, after.getGameLengthCount(bucket)
+                    - before.getGameLengthCount(bucket));
+
+            // the end of the game is only counted once
+            model.flushMetrics();
+            assertEquals(after.getGamesCompleted(),
+                    ModelMetrics.get().snapshot().getGamesCompleted());
+        }
+        assertTrue(endedOnRent);
+        assertTrue(endedOnAction);
+    }
+
+
+    /**
+     * Test of percentile method, of class ModelMetrics.
+     * Expected: The upper bound of the bucket holding the percentile, or 0
+     * for an empty histogram.
+     */
+    @Test
+    public void testPercentile() {
+        System.out.println("percentile");
+        long[] histogram = new long[ModelMetrics.LATENCY_BUCKETS];
+        assertEquals(0, ModelMetrics.percentile(histogram, 0.5));
+
+        histogram[4] = 50;
+        histogram[6] = 49;
+        histogram[10] = 1;
+        assertEquals(16, ModelMetrics.percentile(histogram, 0.5));
+        assertEquals(64, ModelMetrics.percentile(histogram, 0.51));
+        assertEquals(64, ModelMetrics.percentile(histogram, 0.99));
+        assertEquals(1024, ModelMetrics.percentile(histogram, 1));
+    }
+}
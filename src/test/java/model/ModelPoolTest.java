@@ -0,0 +1,78 @@
+package model;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+
+/**
+ * JUnit Tests for the ModelPool Class
+ *
+ * @author Marcus Lowndes
+ */
+public class ModelPoolTest {
+
+    public ModelPoolTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("Start ModelPool Tests");
+        System.out.println("=================================\n");
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("End ModelPool Tests\n");
+    }
+
+    @Before
+    public void setUp() {
+        System.out.println("Test start");
+    }
+
+    @After
+    public void tearDown() {
+        System.out.println("End test\n");
+        System.out.println("=================================\n");
+    }
+
+
+    /**
+     * Test of acquire and release methods, of class ModelPool.
+     * Expected: A released game is handed out again, reset to its opening
+     * state and with its listeners detached.
+     */
+    @Test
+    public void testAcquireRelease() {
+        System.out.println("acquire, release");
+        ModelPool instance = new ModelPool(1);
+        Model model = instance.acquire();
+        assertEquals(0, instance.size());
+
+        StringBuilder events = new StringBuilder();
+        model.addListener(new GameListener() {
+            @Override
+            public void onPlayerMoved(Player player, int roll, int from,
+                                      int to, boolean jailed) {
+                events.append(roll);
+            }
+        });
+        model.nextTurn(1);
+        model.interactCurrentPrpt();
+        instance.release(model);
+        assertEquals(1, instance.size());
+
+        Model result = instance.acquire();
+        assertSame(model, result);
+        assertEquals(new Model().toString(), result.toString());
+        result.nextTurn(2);
+        assertEquals("1", events.toString());
+
+        // the pool is empty, so a new game is made
+        assertNotSame(model, instance.acquire());
+    }
+}
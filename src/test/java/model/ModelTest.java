@@ -1,5 +1,9 @@
 package model;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -51,7 +55,7 @@ public class ModelTest {
         System.out.println("nextTurn, no arguments");
         Model instance = new Model();
 
-        String result = instance.nextTurn();
+        String result = instance.nextTurn().toString();
         int roll = instance.getDiceRoll();
         String expResult = "[P1] rolls " + String.valueOf(roll) + "\nMoving"
                 + " from Posn 1 to Posn " + String.valueOf(roll + 1);
@@ -74,7 +78,7 @@ public class ModelTest {
         Model instance = new Model();
 
         String expResult = "[P1] rolls 6\nMoving from Posn 1 to Posn 7";
-        String result = instance.nextTurn(roll);
+        String result = instance.nextTurn(roll).toString();
 
         assertEquals(expResult, result);
         System.out.println("\nExpected:\n" + expResult);
@@ -94,7 +98,7 @@ public class ModelTest {
         Model instance = new Model();
 
         String expResult = "[P1] rolls 12\nMoving from Posn 1 to Posn 13";
-        String result = instance.nextTurn(roll);
+        String result = instance.nextTurn(roll).toString();
 
         assertEquals(expResult, result);
         System.out.println("\nExpected:\n" + expResult);
@@ -138,7 +142,7 @@ public class ModelTest {
         Model instance = new Model();
 
         String expResult = "[P1] rolls 1\nMoving from Posn 1 to Posn 2";
-        String result = instance.nextTurn(roll);
+        String result = instance.nextTurn(roll).toString();
 
         assertEquals(expResult, result);
         System.out.println("\nExpected:\n" + expResult);
@@ -182,7 +186,7 @@ public class ModelTest {
         System.out.println(instance.nextTurn(1));
 
         String expResult = "A1 has been bought by [P1] for \u00a350.00";
-        String result = instance.interactCurrentPrpt();
+        String result = instance.interactCurrentPrpt().toString();
 
         assertEquals(expResult, result);
         System.out.println("\nExpected:\n" + expResult);
@@ -214,7 +218,7 @@ public class ModelTest {
         testInteractCurrentPrptImproveSetUp(instance);
 
         String expResult = "[P1] pays \u00a335.00 to build a house at the property.";
-        String result = instance.interactCurrentPrpt();
+        String result = instance.interactCurrentPrpt().toString();
 
         assertEquals(expResult, result);
         System.out.println("\nExpected:\n" + expResult);
@@ -239,7 +243,7 @@ public class ModelTest {
         System.out.println(instance.interactCurrentPrpt());
 
         String expResult = "[P1] pays \u00a356.00 to build a hotel at the property.";
-        String result = instance.interactCurrentPrpt();
+        String result = instance.interactCurrentPrpt().toString();
 
         assertEquals(expResult, result);
         System.out.println("\nExpected:\n" + expResult);
@@ -291,5 +295,273 @@ public class ModelTest {
             System.out.println(e);
         System.out.println("\nResult:\n" + result);
     }
-    
+
+
+    /**
+     * Test of addListener method, of class Model.
+     * Player 1 moves onto A1 and buys it, with a listener attached.
+     * Expected: The listener is told of the move, the change of owner and
+     * the change to Player 1's money, in that order.
+     */
+    @Test
+    public void testListenerNotified() {
+        System.out.println("addListener, move and buy a property");
+        Model instance = new Model();
+        StringBuilder result = new StringBuilder();
+        instance.addListener(new GameListener() {
+            @Override
+            public void onPlayerMoved(Player player, int roll, int from,
+                                      int to, boolean jailed) {
+                result.append(player).append(" moved ").append(from)
+                        .append(" to ").append(to).append("\n");
+            }
+
+            @Override
+            public void onMoneyChanged(Player player, double money) {
+                result.append(player).append(" has ").append(money).append("\n");
+            }
+
+            @Override
+            public void onOwnershipChanged(Position position, Player owner) {
+                result.append(position.nameToString()).append(" owned by ")
+                        .append(owner).append("\n");
+            }
+        });
+
+        instance.nextTurn(1);
+        instance.interactCurrentPrpt();
+
+        String expResult = "[P1] moved 1 to 2\nA1 owned by [P1]\n[P1] has 1950.0\n";
+        assertEquals(expResult, result.toString());
+        System.out.println("\nExpected:\n" + expResult);
+        System.out.println("\nResult:\n" + result);
+    }
+
+
+    /**
+     * Test of nextTurn method, of class Model, given seeded dice.
+     * Expected: Two games with dice of the same seed roll the same sequence.
+     */
+    @Test
+    public void testNextTurnSeeded() {
+        System.out.println("nextTurn, seeded dice");
+        Model first = new Model(DiceRoller.seeded(2021));
+        Model second = new Model(DiceRoller.seeded(2021));
+
+        StringBuilder expResult = new StringBuilder();
+        StringBuilder result = new StringBuilder();
+        for (int i=0; i<20; i++) {
+            expResult.append(first.nextTurn()).append('\n');
+            result.append(second.nextTurn()).append('\n');
+        }
+
+        assertEquals(expResult.toString(), result.toString());
+        System.out.println("\nExpected:\n" + expResult);
+        System.out.println("\nResult:\n" + result);
+    }
+
+
+    /**
+     * Test of reset method, of class Model.
+     * Expected: A game played to its end and then reset is in the same state
+     * as a new game, and plays a turn in the same way.
+     */
+    @Test
+    public void testReset() {
+        System.out.println("reset");
+        Model instance = new Model();
+        while (!instance.isGameOver()) {
+            instance.nextTurn();
+            if (instance.isCurrentPosnBuyable()
+                    || instance.isCurrentPosnImprovable())
+                instance.interactCurrentPrpt();
+        }
+        instance.reset();
+
+        Model expected = new Model();
+        assertEquals(expected.toString(), instance.toString());
+        assertEquals(2000, instance.getPlayerTwo().getMoney(), 0);
+        assertEquals(0, instance.getPlayerOne().getOwnedRoads());
+        assertTrue(instance.isFirstTurn());
+        assertFalse(instance.isGameOver());
+
+        String expResult = expected.nextTurn(1) + "\n" + expected.interactCurrentPrpt();
+        String result = instance.nextTurn(1) + "\n" + instance.interactCurrentPrpt();
+        assertEquals(expResult, result);
+        assertEquals(expected.toString(), instance.toString());
+        System.out.println("\nExpected:\n" + expResult);
+        System.out.println("\nResult:\n" + result);
+    }
+
+
+    /**
+     * Calculate the rent of a property as the Model originally did, from its
+     * owner, price and improvements, counting the owner's properties on its
+     * road from the board.
+     *
+     * @param   model   the game
+     * @param   posn    an owned property
+     * @return  the rent charged for landing on the property
+     */
+    private static double formulaRent(Model model, Position posn) {
+        int owned = 0;
+        for (Position p : model.getBoard())
+            if (p.isProperty() && p.getRoad() == posn.getRoad()
+                    && p.getOwner() == posn.getOwner())
+                owned++;
+
+        double rent = 0;
+        if (owned == 3) {
+            rent = 0.2 * posn.getPrice();
+            if (posn.isHotel())
+                rent += 0.1 * ((4.0 * 0.5 * posn.getPrice())
+                               + (0.8 * posn.getPrice()));
+            if (posn.getImprovements() > 0)
+                rent += 0.1 * (posn.getImprovements() * 0.5 * posn.getPrice());
+        } else {
+            rent += 0.1 * posn.getPrice();
+        }
+        return rent;
+    }
+
+
+    /**
+     * Check that the rent table of a game charges the rent given by the
+     * original formula at every position.
+     *
+     * @param   model   the game
+     */
+    private static void assertRentMatchesFormula(Model model) {
+        for (int i=0; i<model.getBoard().size(); i++) {
+            Position p = model.getBoard().get(i);
+            double expected = (p.getOwner() == null) ? 0 : formulaRent(model, p);
+            assertEquals(p.nameToString(), expected,
+                    model.getRentTable().getCurrentRent(i), 1e-9);
+        }
+    }
+
+
+    /**
+     * Test of the rent table of a Model, against the original formula.
+     * Player 1 buys roads A to D and two properties of road H, and Player 2
+     * buys roads E to G and the last property of road H. Every property on
+     * a complete road is then improved up to a hotel, one level at a time.
+     * Expected: After every purchase and improvement, and after the game is
+     * copied through a snapshot and its rent table rebuilt with
+     * <code>refresh</code>, every position's rent is the one the original
+     * formula gives.
+     */
+    @Test
+    public void testRentTableMatchesFormula() {
+        System.out.println("rent table");
+        Model instance = new Model();
+        Player one = instance.getPlayerOne();
+        Player two = instance.getPlayerTwo();
+        assertRentMatchesFormula(instance);
+
+        Position lastOnH = null;
+        for (Position p : instance.getBoard())
+            if (p.isProperty() && p.getRoad() == 'H')
+                lastOnH = p;
+        for (Position p : instance.getBoard()) {
+            if (!p.isProperty())
+                continue;
+            p.buy((p == lastOnH || (p.getRoad() >= 'E' && p.getRoad() <= 'G'))
+                    ? two : one);
+            assertRentMatchesFormula(instance);
+        }
+
+        Model copy = new Model();
+        for (int level=1; level<=5; level++) {
+            for (Position p : instance.getBoard())
+                if (p.isProperty() && p.getOwner().ownsAllPrptsOnRoad(p.getRoad())) {
+                    p.improve(p.getOwner());
+                    assertRentMatchesFormula(instance);
+                }
+
+            instance.getRentTable().refresh();
+            assertRentMatchesFormula(instance);
+
+            ByteBuffer buf = ByteBuffer.allocate(GameSnapshot.sizeOf(instance));
+            GameSnapshot.write(instance, buf);
+            buf.flip();
+            GameSnapshot.read(buf, copy);
+            assertRentMatchesFormula(copy);
+        }
+        System.out.println("\nResult:\nEvery rent matched, up to hotels");
+    }
+
+
+    /**
+     * Render the board as the Model originally did, by concatenating a
+     * String for every position.
+     *
+     * @param   model   the game
+     * @return  a String representation of the entire game board
+     */
+    private static String concatenatedBoard(Model model) {
+        String s = "Posn\tName\tPrice\tOwner\tImpvmts\tPlayerCounters\n";
+        for (Position p : model.getBoard()) {
+            String i = String.valueOf((int) p.getImprovements());
+            if (p.isHotel())
+                i = "Hotel";
+            String o = (p.getOwner() != null) ? " " + p.getOwner().toString() : " []";
+
+            String posn = String.valueOf(p.getNumber()) + ":\t " + p.nameToString();
+            if (p.isProperty())
+                posn += "\t\u00a3" + String.valueOf(p.getPrice()) + "0\t" + o + "\t" + i;
+            else if (p.getNumber() == 1 || p.getNumber() == 21)
+                posn += "\t\t\t";
+
+            String players = "";
+            if (!p.isProperty() && p.getNumber() != 1 && p.getNumber() != 21)
+                players += "\t\t\t";
+            if (model.getPlayerOne().getPosition().equals(p))
+                players += "\t" + model.getPlayerOne().toString();
+            if (model.getPlayerTwo().getPosition().equals(p))
+                players += "\t" + model.getPlayerTwo().toString();
+
+            s += (posn + players + "\n");
+        }
+        return s;
+    }
+
+
+    /**
+     * Test of appendTo and writeTo methods, of class Model.
+     * A seeded game is played to its end, buying and improving every
+     * property possible, so that every owner, house and hotel is rendered.
+     * Expected: After every move and action, the board appended to a reused
+     * buffer, and written to a stream, is byte for byte the board that the
+     * original String concatenation gave.
+     */
+    @Test
+    public void testAppendToMatchesConcatenation() throws IOException {
+        System.out.println("appendTo, writeTo");
+        Model instance = new Model(DiceRoller.seeded(2021));
+        StringBuilder buffer = new StringBuilder();
+        int renders = 0;
+
+        while (!instance.isGameOver()) {
+            instance.nextTurn();
+            while (!instance.isGameOver() && (instance.isCurrentPosnBuyable()
+                    || instance.isCurrentPosnImprovable()))
+                instance.interactCurrentPrpt();
+
+            String expResult = concatenatedBoard(instance);
+            buffer.setLength(0);
+            instance.appendTo(buffer);
+            assertArrayEquals(expResult.getBytes(StandardCharsets.UTF_8),
+                    buffer.toString().getBytes(StandardCharsets.UTF_8));
+
+            StringWriter out = new StringWriter();
+            instance.writeTo(out);
+            assertEquals(expResult, out.toString());
+            assertEquals(expResult, instance.toString());
+            renders++;
+        }
+        System.out.println("\nResult:\n" + renders + " renders matched\n"
+                + instance);
+    }
+
 }
@@ -0,0 +1,124 @@
+package model;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+
+/**
+ * JUnit Tests for the Player Class
+ *
+ * @author Marcus Lowndes
+ */
+public class PlayerTest {
+
+    public PlayerTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("Start Player Tests");
+        System.out.println("=================================\n");
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("End Player Tests\n");
+    }
+
+    @Before
+    public void setUp() {
+        System.out.println("Test start");
+    }
+
+    @After
+    public void tearDown() {
+        System.out.println("End test\n");
+        System.out.println("=================================\n");
+    }
+
+
+    /**
+     * Count the properties on a road that a player owns, by searching the
+     * whole board, as the ownership of a road was originally checked.
+     *
+     * @param   model   the game
+     * @param   player  the player
+     * @param   road    the road
+     * @return  true if the player owns all 3 properties on the road
+     */
+    private static boolean ownsRoadOnBoard(Model model, Player player, char road) {
+        int count = 0;
+        for (Position p : model.getBoard())
+            if (p.isProperty() && p.getRoad() == road && p.getOwner() == player)
+                count++;
+        return count == 3;
+    }
+
+
+    /**
+     * Check that a player's record of the roads they own matches the board.
+     *
+     * @param   model   the game
+     * @param   player  the player
+     */
+    private static void assertRoadsMatchBoard(Model model, Player player) {
+        for (char road = 'A'; road <= 'H'; road++) {
+            boolean expected = ownsRoadOnBoard(model, player, road);
+            assertEquals("road " + road, expected, player.ownsAllPrptsOnRoad(road));
+            assertEquals("road " + road, expected,
+                    (player.getOwnedRoads() & (1 << (road - 'A'))) != 0);
+        }
+    }
+
+
+    /**
+     * Test of ownsAllPrptsOnRoad method, of class Player.
+     * Player 1 buys every property on the board but the last one on road C,
+     * which Player 2 buys, checking the roads each player owns after every
+     * purchase.
+     * Expected: A road is owned as soon as the last of its properties is
+     * bought, and never by a player who owns only some of it.
+     */
+    @Test
+    public void testOwnsAllPrptsOnRoad() {
+        System.out.println("ownsAllPrptsOnRoad");
+        Model model = new Model();
+        Player one = model.getPlayerOne();
+        Player two = model.getPlayerTwo();
+        assertRoadsMatchBoard(model, one);
+
+        Position lastOnC = null;
+        for (Position p : model.getBoard())
+            if (p.isProperty() && p.getRoad() == 'C')
+                lastOnC = p;
+
+        for (Position p : model.getBoard()) {
+            if (!p.isProperty())
+                continue;
+            boolean wasOwned = one.ownsAllPrptsOnRoad(p.getRoad());
+            p.buy((p == lastOnC) ? two : one);
+            assertRoadsMatchBoard(model, one);
+            assertRoadsMatchBoard(model, two);
+            if (p != lastOnC && !wasOwned && one.ownsAllPrptsOnRoad(p.getRoad()))
+                System.out.println(one + " owns road " + p.getRoad()
+                        + " after buying " + p.nameToString());
+        }
+
+        assertTrue(one.ownsAllPrptsOnRoad('A'));
+        assertTrue(one.ownsAllPrptsOnRoad('H'));
+        assertFalse(one.ownsAllPrptsOnRoad('C'));
+        assertFalse(two.ownsAllPrptsOnRoad('C'));
+        assertFalse(one.ownsAllPrptsOnRoad('Z'));
+        assertFalse(one.ownsAllPrptsOnRoad('a'));
+
+        // taking the properties away clears every road
+        one.reset();
+        assertEquals(0, one.getOwnedRoads());
+        for (char road = 'A'; road <= 'H'; road++)
+            assertFalse(one.ownsAllPrptsOnRoad(road));
+    }
+}
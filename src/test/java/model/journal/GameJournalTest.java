@@ -0,0 +1,97 @@
+package model.journal;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import model.Model;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+
+/**
+ * JUnit Tests for the GameJournal and JournalReplay Classes
+ *
+ * @author Marcus Lowndes
+ */
+public class GameJournalTest {
+
+    public GameJournalTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("Start GameJournal Tests");
+        System.out.println("=================================\n");
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("End GameJournal Tests\n");
+    }
+
+    @Before
+    public void setUp() {
+        System.out.println("Test start");
+    }
+
+    @After
+    public void tearDown() {
+        System.out.println("End test\n");
+        System.out.println("=================================\n");
+    }
+
+
+    /**
+     * Test of replay method, of class JournalReplay, given a journal of a
+     * whole game recorded by a GameJournal.
+     * Expected: The replayed game ends in exactly the same state as the
+     * recorded game, and a partial replay rebuilds the game as it was
+     * after that many turns.
+     */
+    @Test
+    public void testReplay() throws Exception {
+        System.out.println("replay, recorded game");
+        Model model = new Model();
+        model.nextTurn(3);
+        model.interactCurrentPrpt();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        String midGame = null;
+        int turns = 0;
+        try (JournalWriter writer = new JournalWriter();
+             GameJournal journal = new GameJournal(model,
+                     Channels.newChannel(bytes), writer)) {
+            while (!model.isGameOver()) {
+                model.nextTurn();
+                turns++;
+                if (model.isCurrentPosnBuyable()
+                        || model.isCurrentPosnImprovable())
+                    model.interactCurrentPrpt();
+                if (turns == 10) {
+                    midGame = model.toString();
+                    journal.flush();
+                }
+            }
+        }
+        String expResult = model.toString();
+
+        Model replayed = JournalReplay.replay(ByteBuffer.wrap(bytes.toByteArray()));
+        assertEquals(expResult, replayed.toString());
+        assertEquals(model.getPlayerTwo().getMoney(),
+                replayed.getPlayerTwo().getMoney(), 0);
+        assertTrue(replayed.isGameOver());
+
+        Model partial = new Model();
+        int result = JournalReplay.replay(ByteBuffer.wrap(bytes.toByteArray()),
+                partial, 10);
+        assertEquals(10, result);
+        assertEquals(midGame, partial.toString());
+
+        System.out.println("\nReplayed " + turns + " turns from "
+                + bytes.size() + " bytes");
+    }
+}
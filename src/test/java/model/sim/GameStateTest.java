@@ -0,0 +1,156 @@
+package model.sim;
+
+import java.util.SplittableRandom;
+import model.Model;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+
+/**
+ * JUnit Tests for the GameState Class
+ *
+ * @author Marcus Lowndes
+ */
+public class GameStateTest {
+
+    public GameStateTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("Start GameState Tests");
+        System.out.println("=================================\n");
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("End GameState Tests\n");
+    }
+
+    @Before
+    public void setUp() {
+        System.out.println("Test start");
+    }
+
+    @After
+    public void tearDown() {
+        System.out.println("End test\n");
+        System.out.println("=================================\n");
+    }
+
+
+    /**
+     * Test of applyTurn and applyInteract methods, of class GameState.
+     * Expected: A state follows the same rules as the Model, and a state
+     * taken from the Model at any point is the same as the state that has
+     * followed it.
+     */
+    @Test
+    public void testMatchesModel() {
+        System.out.println("applyTurn, applyInteract, of");
+        SimBoard board = SimBoard.standard();
+        SplittableRandom rng = new SplittableRandom(19);
+
+        for (int game=0; game<50; game++) {
+            Model model = new Model();
+            GameState state = new GameState(board);
+
+            while (!model.isGameOver()) {
+                int roll = (rng.nextInt(6) + 1) + (rng.nextInt(6) + 1);
+                model.nextTurn(roll);
+                state.applyTurn(roll);
+
+                if (model.isCurrentPosnBuyable() || model.isCurrentPosnImprovable()) {
+                    assertTrue(state.isBuyable() || state.isImprovable());
+                    model.interactCurrentPrpt();
+                    state.applyInteract();
+                }
+                assertSameState(GameState.of(model, board), state);
+            }
+            assertTrue(state.isGameOver());
+        }
+        System.out.println("\nResult:\n50 games matched");
+    }
+
+
+    /**
+     * Test of undo method, of class GameState.
+     * Expected: Undoing every move applied to a copy of a state returns the
+     * copy to the original state.
+     */
+    @Test
+    public void testUndo() {
+        System.out.println("copy, undo");
+        SimBoard board = SimBoard.standard();
+        SplittableRandom rng = new SplittableRandom(20);
+        GameState state = new GameState(board);
+        GameState copy = new GameState(board);
+
+        for (int step=0; step<200 && !state.isGameOver(); step++) {
+            copy.copyFrom(state);
+            for (int m=0; m<30 && !copy.isGameOver(); m++) {
+                copy.applyTurn((rng.nextInt(6) + 1) + (rng.nextInt(6) + 1));
+                if ((copy.isBuyable() || copy.isImprovable()) && rng.nextBoolean())
+                    copy.applyInteract();
+            }
+            while (copy.getDepth() > 0)
+                copy.undo();
+            assertSameState(state, copy);
+
+            state.applyTurn((rng.nextInt(6) + 1) + (rng.nextInt(6) + 1));
+            if (state.isBuyable() || state.isImprovable())
+                state.applyInteract();
+        }
+        System.out.println("\nResult:\nevery move undone");
+    }
+
+
+    /**
+     * Test of getHash method, of class GameState.
+     * Expected: The hash kept up to date by every move is the hash of the
+     * state computed from scratch, states in the same buckets of money have
+     * the same hash, and a different owner gives a different hash.
+     */
+    @Test
+    public void testHash() {
+        System.out.println("getHash");
+        SimBoard board = SimBoard.standard();
+        SplittableRandom rng = new SplittableRandom(21);
+        GameState state = new GameState(board);
+
+        for (int step=0; step<500 && !state.isGameOver(); step++) {
+            state.applyTurn((rng.nextInt(6) + 1) + (rng.nextInt(6) + 1));
+            if (state.isBuyable() || state.isImprovable())
+                state.applyInteract();
+            assertEquals(board.zobrist.hash(state), state.getHash());
+        }
+
+        GameState other = state.copy();
+        other.money[0] = (Zobrist.bucket(state.money[0]) + 0.5) * Zobrist.MONEY_BUCKET;
+        assertEquals(board.zobrist.hash(other), state.getHash());
+
+        int owned = 0;
+        while (state.getOwner(owned) == GameState.NO_OWNER)
+            owned++;
+        other.owner[owned] ^= 1;
+        assertNotEquals(state.getHash(), board.zobrist.hash(other));
+        System.out.println("\nResult:\n" + Long.toHexString(state.getHash()));
+    }
+
+
+    private void assertSameState(GameState expected, GameState state) {
+        assertArrayEquals(expected.owner, state.owner);
+        assertArrayEquals(expected.level, state.level);
+        assertArrayEquals(expected.ownedOnRoad, state.ownedOnRoad);
+        assertArrayEquals(expected.position, state.position);
+        assertEquals(expected.money[0], state.money[0], 0);
+        assertEquals(expected.money[1], state.money[1], 0);
+        assertEquals(expected.current, state.current);
+        assertEquals(expected.firstTurn, state.firstTurn);
+        assertEquals(expected.getHash(), state.getHash());
+    }
+}
@@ -0,0 +1,93 @@
+package model.sim;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+
+/**
+ * JUnit Tests for the LandingProbabilities Class
+ *
+ * @author Marcus Lowndes
+ */
+public class LandingProbabilitiesTest {
+
+    public LandingProbabilitiesTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("Start LandingProbabilities Tests");
+        System.out.println("=================================\n");
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("End LandingProbabilities Tests\n");
+    }
+
+    @Before
+    public void setUp() {
+        System.out.println("Test start");
+    }
+
+    @After
+    public void tearDown() {
+        System.out.println("End test\n");
+        System.out.println("=================================\n");
+    }
+
+
+    /**
+     * Test of afterTurns method, of class LandingProbabilities.
+     * Expected: After one turn from GO, each position is as likely as the
+     * roll that reaches it.
+     */
+    @Test
+    public void testAfterOneTurn() {
+        System.out.println("afterTurns, 1 turn");
+        LandingProbabilities instance =
+                new LandingProbabilities(SimBoard.standard());
+
+        double[] result = instance.afterTurns(1);
+        for (int i=0; i<instance.size(); i++)
+            assertEquals(LandingProbabilities.rollProbability(i), result[i], 1e-15);
+    }
+
+
+    /**
+     * Test of steadyState method, of class LandingProbabilities.
+     * Expected: On the standard board, JAIL is never ended on and GO is the
+     * most likely position. On a custom board without JAIL, every position
+     * is equally likely.
+     */
+    @Test
+    public void testSteadyState() {
+        System.out.println("steadyState");
+        LandingProbabilities instance =
+                new LandingProbabilities(SimBoard.standard());
+        double[] result = instance.steadyState();
+
+        double total = 0;
+        for (int i=0; i<result.length; i++) {
+            total += result[i];
+            assertTrue(result[i] <= result[0]);
+        }
+        assertEquals(1, total, 1e-12);
+        assertEquals(0, result[20], 0);
+
+        // the chain has settled, so another turn changes nothing
+        double[] next = instance.afterTurns(result, 1);
+        for (int i=0; i<result.length; i++)
+            assertEquals(result[i], next[i], 1e-14);
+
+        double[] uniform = new LandingProbabilities(25, -1, -1).steadyState();
+        for (double p : uniform)
+            assertEquals(1.0 / 25, p, 1e-12);
+
+        System.out.println("\nGO: " + result[0] + ", A1: " + result[1]);
+    }
+}
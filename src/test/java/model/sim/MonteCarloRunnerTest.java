@@ -0,0 +1,82 @@
+package model.sim;
+
+import java.util.concurrent.ForkJoinPool;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+
+/**
+ * JUnit Tests for the MonteCarloRunner Class
+ *
+ * @author Marcus Lowndes
+ */
+public class MonteCarloRunnerTest {
+
+    public MonteCarloRunnerTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("Start MonteCarloRunner Tests");
+        System.out.println("=================================\n");
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("End MonteCarloRunner Tests\n");
+    }
+
+    @Before
+    public void setUp() {
+        System.out.println("Test start");
+    }
+
+    @After
+    public void tearDown() {
+        System.out.println("End test\n");
+        System.out.println("=================================\n");
+    }
+
+
+    /**
+     * Test of run method, of class MonteCarloRunner.
+     * Expected: The same master seed gives exactly the same statistics on
+     * one thread as on four, for a number of games that does not fill the
+     * last block, and a different seed gives different statistics.
+     */
+    @Test
+    public void testRunSameOnAnyPool() {
+        System.out.println("run");
+        long games = 10 * MonteCarloRunner.BLOCK_SIZE + 100;
+        ForkJoinPool one = new ForkJoinPool(1);
+        ForkJoinPool four = new ForkJoinPool(4);
+        try {
+            SimStats single = new MonteCarloRunner(SimBoard.standard(), one,
+                    MonteCarloRunner.DEFAULT_MAX_TURNS).run(games, 2021);
+            SimStats parallel = new MonteCarloRunner(SimBoard.standard(), four,
+                    MonteCarloRunner.DEFAULT_MAX_TURNS).run(games, 2021);
+            System.out.println("\nResult:\n" + single + "\n" + parallel);
+
+            assertEquals(games, single.getGames());
+            assertEquals(single, parallel);
+            assertNotEquals(single, new MonteCarloRunner(SimBoard.standard(),
+                    four, MonteCarloRunner.DEFAULT_MAX_TURNS).run(games, 2022));
+
+            Strategy reserve = Strategies.cashReserve(200);
+            assertEquals(
+                    new MonteCarloRunner(SimBoard.standard(), one,
+                            MonteCarloRunner.DEFAULT_MAX_TURNS, reserve,
+                            Strategies.alwaysBuy()).run(games, 7),
+                    new MonteCarloRunner(SimBoard.standard(), four,
+                            MonteCarloRunner.DEFAULT_MAX_TURNS, reserve,
+                            Strategies.alwaysBuy()).run(games, 7));
+        } finally {
+            one.shutdown();
+            four.shutdown();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package model.sim;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+
+/**
+ * JUnit Tests for the SearchPlayer Class
+ *
+ * @author Marcus Lowndes
+ */
+public class SearchPlayerTest {
+    private static ForkJoinPool pool;
+
+    public SearchPlayerTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("Start SearchPlayer Tests");
+        System.out.println("=================================\n");
+        pool = new ForkJoinPool(2);
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        pool.shutdown();
+        System.out.println("End SearchPlayer Tests\n");
+    }
+
+    @Before
+    public void setUp() {
+        System.out.println("Test start");
+    }
+
+    @After
+    public void tearDown() {
+        System.out.println("End test\n");
+        System.out.println("=================================\n");
+    }
+
+
+    /**
+     * Test of decide method, of class SearchPlayer.
+     * Expected: The search takes about its time budget, and leaves the
+     * state it was given unchanged.
+     */
+    @Test
+    public void testDecideWithinBudget() {
+        System.out.println("decide, time budget");
+        SimBoard board = SimBoard.standard();
+        SearchPlayer instance = new SearchPlayer(board, pool, 20);
+        GameState state = new GameState(board);
+        state.applyTurn(1);
+        assertTrue(state.isBuyable());
+
+        long start = System.nanoTime();
+        instance.decide(state);
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(millis >= 20);
+        assertTrue(millis < 1000);
+        assertEquals(1, state.getDepth());
+        assertEquals(GameState.NO_OWNER, state.getOwner(1));
+        System.out.println("\nResult:\nDecided in " + millis + " ms");
+    }
+
+
+    /**
+     * Test of decide method, of class SearchPlayer, for a purchase that
+     * would spend all of the player's money.
+     * Expected: The player does not buy the property, as they would lose.
+     */
+    @Test
+    public void testDecideLosingPurchase() {
+        System.out.println("decide, losing purchase");
+        SimBoard board = SimBoard.standard();
+        SearchPlayer instance = new SearchPlayer(board, pool, 20);
+        GameState state = new GameState(board);
+        state.applyTurn(1);
+        state.money[0] = board.getPrice(1);
+
+        assertFalse(instance.decide(state));
+    }
+}
@@ -0,0 +1,146 @@
+package model.sim;
+
+import java.util.SplittableRandom;
+import model.DiceRoller;
+import model.Model;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+
+/**
+ * JUnit Tests for the SimGame Class
+ *
+ * @author Marcus Lowndes
+ */
+public class SimGameTest {
+
+    public SimGameTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("Start SimGame Tests");
+        System.out.println("=================================\n");
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("End SimGame Tests\n");
+    }
+
+    @Before
+    public void setUp() {
+        System.out.println("Test start");
+    }
+
+    @After
+    public void tearDown() {
+        System.out.println("End test\n");
+        System.out.println("=================================\n");
+    }
+
+
+    /**
+     * Test that a SimGame follows the same rules as the Model.
+     * Both are given the same dice rolls, and both interact with every
+     * buyable or improvable position.
+     * Expected: after every step, both players have the same money and
+     * are on the same positions in both games.
+     */
+    @Test
+    public void testMatchesModel() {
+        System.out.println("SimGame follows the same rules as Model");
+        SplittableRandom rng = new SplittableRandom(2021);
+
+        for (int game=0; game<50; game++) {
+            Model model = new Model();
+            SimGame sim = new SimGame(SimBoard.standard());
+
+            while (!model.isGameOver()) {
+                int roll = (rng.nextInt(6) + 1) + (rng.nextInt(6) + 1);
+                model.nextTurn(roll);
+                sim.turn(roll);
+                assertSameState(model, sim);
+
+                if (model.isCurrentPosnBuyable() || model.isCurrentPosnImprovable()) {
+                    assertTrue(sim.isBuyable() || sim.isImprovable());
+                    model.interactCurrentPrpt();
+                    sim.interact();
+                    assertSameState(model, sim);
+                }
+            }
+            assertTrue(sim.isGameOver());
+        }
+        System.out.println("\nResult:\n50 games matched");
+    }
+
+
+    /**
+     * Test of play method, of class SimGame.
+     * Expected: the same seed plays the same game, which ends when
+     * a player runs out of money.
+     */
+    @Test
+    public void testPlayIsReproducible() {
+        System.out.println("play, same seed");
+        SimGame sim = new SimGame(SimBoard.standard());
+
+        SimResult expResult = sim.play(new SplittableRandom(7), 10000);
+        SimResult result = sim.play(new SplittableRandom(7), 10000);
+
+        assertEquals(expResult.toString(), result.toString());
+        assertTrue(result.getWinner() != SimResult.NO_WINNER);
+        System.out.println("\nExpected:\n" + expResult);
+        System.out.println("\nResult:\n" + result);
+    }
+
+
+    /**
+     * Test of play method, of class SimGame, given strategies, and of
+     * playOut method, of class AutoPlayer.
+     * Expected: every built-in strategy plays the same games in a SimGame
+     * as it does in a Model played by an AutoPlayer.
+     */
+    @Test
+    public void testStrategiesMatchAutoPlayer() {
+        System.out.println("play, strategies");
+        Strategy[] strategies = {
+            Strategies.alwaysBuy(),
+            Strategies.cashReserve(500),
+            Strategies.setFocused(200),
+            Strategies.returnOnInvestment(300, 100)
+        };
+
+        SimGame sim = new SimGame(SimBoard.standard());
+        for (int game=0; game<40; game++) {
+            Strategy one = strategies[game % strategies.length];
+            Strategy two = strategies[(game / strategies.length) % strategies.length];
+
+            SimResult expResult = sim.play(new SplittableRandom(game), 2000, one, two);
+
+            Model model = new Model(DiceRoller.of(new SplittableRandom(game)));
+            int turns = new AutoPlayer(model, one, two).playOut(2000);
+
+            assertEquals(expResult.getTurns(), turns);
+            assertEquals(expResult.getPlayerOneMoney(),
+                    model.getPlayerOne().getMoney(), 0);
+            assertEquals(expResult.getPlayerTwoMoney(),
+                    model.getPlayerTwo().getMoney(), 0);
+        }
+        System.out.println("\nResult:\n40 games matched");
+    }
+
+
+    private void assertSameState(Model model, SimGame sim) {
+        assertEquals(model.getPlayerOne().getMoney(), sim.getMoney(0), 0);
+        assertEquals(model.getPlayerTwo().getMoney(), sim.getMoney(1), 0);
+        assertEquals(model.getPlayerOne().getPosition().getNumber() - 1,
+                sim.getPosition(0));
+        assertEquals(model.getPlayerTwo().getPosition().getNumber() - 1,
+                sim.getPosition(1));
+    }
+}
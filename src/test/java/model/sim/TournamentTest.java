@@ -0,0 +1,148 @@
+package model.sim;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+
+/**
+ * JUnit Tests for the Tournament Class
+ *
+ * @author Marcus Lowndes
+ */
+public class TournamentTest {
+
+    public TournamentTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("Start Tournament Tests");
+        System.out.println("=================================\n");
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("End Tournament Tests\n");
+    }
+
+    @Before
+    public void setUp() {
+        System.out.println("Test start");
+    }
+
+    @After
+    public void tearDown() {
+        System.out.println("End test\n");
+        System.out.println("=================================\n");
+    }
+
+
+    private static Tournament tournament(ForkJoinPool pool){
+        return new Tournament(SimBoard.standard(), pool, 2000, 0.95, 0.05, 20000)
+                .add("alwaysBuy", Strategies.alwaysBuy())
+                .add("cashReserve", Strategies.cashReserve(200))
+                .add("setFocused", Strategies.setFocused(200));
+    }
+
+
+    /**
+     * Test of run and rank methods, of class Tournament.
+     * Expected: A strategy that spends its last money loses to both that
+     * keep a reserve, the matches stop long before the game limit, and the
+     * results are the same whatever the number of threads.
+     */
+    @Test
+    public void testRun() {
+        System.out.println("run, rank");
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool many = new ForkJoinPool(4);
+        try {
+            List<Tournament.Match> result = tournament(many).run(2021);
+            List<Tournament.Match> expResult = tournament(single).run(2021);
+
+            assertEquals(3, result.size());
+            for (int i=0; i<3; i++) {
+                assertEquals(expResult.get(i).toString(), result.get(i).toString());
+                assertTrue(result.get(i).isDecided());
+                assertTrue(result.get(i).getGames() < 20000);
+                System.out.println(result.get(i));
+            }
+            assertEquals("cashReserve", result.get(0).getWinner());
+            assertEquals("setFocused", result.get(1).getWinner());
+            assertEquals("alwaysBuy",
+                    Tournament.rank(result).get(2));
+        } finally {
+            single.shutdown();
+            many.shutdown();
+        }
+    }
+
+
+    /**
+     * Test of run method, of class Tournament, with a game limit that stops
+     * the matches before the test decides.
+     * Expected: Every match plays the same games to the same result on one
+     * thread as on four.
+     */
+    @Test
+    public void testRunSameOnAnyPool() {
+        System.out.println("run, game limit");
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool many = new ForkJoinPool(4);
+        try {
+            List<Tournament.Match> expResult = new Tournament(SimBoard.standard(),
+                    single, 2000, 0.99, 0.01, 512)
+                    .add("cashReserve", Strategies.cashReserve(200))
+                    .add("setFocused", Strategies.setFocused(200))
+                    .run(42);
+            List<Tournament.Match> result = new Tournament(SimBoard.standard(),
+                    many, 2000, 0.99, 0.01, 512)
+                    .add("cashReserve", Strategies.cashReserve(200))
+                    .add("setFocused", Strategies.setFocused(200))
+                    .run(42);
+
+            assertEquals(1, result.size());
+            Tournament.Match match = result.get(0);
+            Tournament.Match expMatch = expResult.get(0);
+            System.out.println("\nResult:\n" + expMatch + "\n" + match);
+            assertEquals(512, match.getGames());
+            assertEquals(expMatch.getFirstWins(), match.getFirstWins());
+            assertEquals(expMatch.getSecondWins(), match.getSecondWins());
+            assertEquals(expMatch.getUnfinished(), match.getUnfinished());
+            assertEquals(expMatch.getWinner(), match.getWinner());
+            assertEquals(expMatch.isDecided(), match.isDecided());
+        } finally {
+            single.shutdown();
+            many.shutdown();
+        }
+    }
+
+
+    /**
+     * Test of run method, of class Tournament, with a strategy against
+     * itself.
+     * Expected: Swapping the seats with the same dice gives each seat the
+     * same wins, so the strategies are found to be even.
+     */
+    @Test
+    public void testSeatsSwapped() {
+        System.out.println("run, same strategy");
+        Strategy strategy = Strategies.cashReserve(100);
+        List<Tournament.Match> result = new Tournament(SimBoard.standard(),
+                ForkJoinPool.commonPool(), 2000, 0.95, 0.05, 20000)
+                .add("one", strategy).add("two", strategy).run(7);
+
+        Tournament.Match match = result.get(0);
+        assertEquals(match.getFirstWins(), match.getSecondWins());
+        assertNull(match.getWinner());
+        assertTrue(match.isDecided());
+        assertEquals(Arrays.asList("one", "two"), Tournament.rank(result));
+    }
+}
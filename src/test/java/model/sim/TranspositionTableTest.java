@@ -0,0 +1,128 @@
+package model.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+
+/**
+ * JUnit Tests for the TranspositionTable Class
+ *
+ * @author Marcus Lowndes
+ */
+public class TranspositionTableTest {
+
+    public TranspositionTableTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("Start TranspositionTable Tests");
+        System.out.println("=================================\n");
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("End TranspositionTable Tests\n");
+    }
+
+    @Before
+    public void setUp() {
+        System.out.println("Test start");
+    }
+
+    @After
+    public void tearDown() {
+        System.out.println("End test\n");
+        System.out.println("=================================\n");
+    }
+
+
+    /**
+     * Test of merge and get methods, of class TranspositionTable.
+     * Expected: Results for the same state are combined into their weighted
+     * average, and a state with no result is not found.
+     */
+    @Test
+    public void testMerge() {
+        System.out.println("merge, get");
+        TranspositionTable instance = new TranspositionTable(100);
+        assertEquals(128, instance.capacity());
+        assertNull(instance.get(42));
+
+        assertTrue(instance.merge(42, 1.0, 1));
+        assertTrue(instance.merge(42, 0.0, 3));
+        TranspositionTable.Entry result = instance.get(42);
+        assertEquals(0.25, result.getValue(), 1e-12);
+        assertEquals(4, result.getWeight());
+
+        instance.clear();
+        assertNull(instance.get(42));
+    }
+
+
+    /**
+     * Test of merge method, of class TranspositionTable, when a bucket is
+     * full.
+     * Expected: A new result replaces the lighter of the two results in its
+     * bucket, unless both are heavier and of the current generation, and
+     * results of an earlier generation are replaced first.
+     */
+    @Test
+    public void testReplacement() {
+        System.out.println("merge, replacement");
+        TranspositionTable instance = new TranspositionTable(2, 1);
+        instance.merge(1, 0.1, 10);
+        instance.merge(2, 0.2, 5);
+
+        assertFalse(instance.merge(3, 0.3, 1));
+        assertNull(instance.get(3));
+
+        assertTrue(instance.merge(3, 0.3, 7));
+        assertNull(instance.get(2));
+        assertEquals(10, instance.get(1).getWeight());
+
+        instance.nextGeneration();
+        instance.get(3);
+        assertTrue(instance.merge(4, 0.4, 1));
+        assertNull(instance.get(1));
+        assertEquals(7, instance.get(3).getWeight());
+    }
+
+
+    /**
+     * Test of merge method, of class TranspositionTable, from many threads.
+     * Expected: Every result merged is counted.
+     */
+    @Test
+    public void testMergeConcurrently() throws Exception {
+        System.out.println("merge, concurrently");
+        TranspositionTable instance = new TranspositionTable(1 << 10, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t=0; t<4; t++)
+                futures.add(executor.submit(() -> {
+                    for (int i=0; i<10000; i++)
+                        instance.merge(i % 100, 0.5, 1);
+                }));
+            for (Future<?> f : futures)
+                f.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        for (long key=0; key<100; key++) {
+            assertEquals(400, instance.get(key).getWeight());
+            assertEquals(0.5, instance.get(key).getValue(), 1e-12);
+        }
+    }
+}
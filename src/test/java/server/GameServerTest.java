@@ -0,0 +1,103 @@
+package server;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+
+/**
+ * JUnit Tests for the GameServer Class
+ *
+ * @author Marcus Lowndes
+ */
+public class GameServerTest {
+    private GameServer server;
+    private Thread thread;
+
+    public GameServerTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("Start GameServer Tests");
+        System.out.println("=================================\n");
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("End GameServer Tests\n");
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        System.out.println("Test start");
+        server = new GameServer(new InetSocketAddress("localhost", 0), true);
+        thread = new Thread(server);
+        thread.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.close();
+        thread.join();
+        System.out.println("End test\n");
+        System.out.println("=================================\n");
+    }
+
+
+    /** @return the next reply from the server, which ends with an empty
+     *          line, or null if the connection has been closed */
+    private static String readReply(BufferedReader in) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        String line;
+        while ((line = in.readLine()) != null && !line.isEmpty())
+            sb.append(line).append('\n');
+        return (line == null && sb.length() == 0) ? null : sb.toString();
+    }
+
+
+    /**
+     * Test of a session played through the server.
+     * Player 1 chooses a roll of 1, buys A1 and then exits the game.
+     * Expected: The replies describe the move and the purchase, and the
+     * connection is closed once the game is exited.
+     */
+    @Test
+    public void testSession() throws Exception {
+        System.out.println("session, cheat roll, buy, exit");
+        try (Socket socket = new Socket("localhost", server.getAddress().getPort())) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(
+                    socket.getInputStream(), StandardCharsets.UTF_8));
+            OutputStream out = socket.getOutputStream();
+
+            String welcome = readReply(in);
+            assertTrue(welcome.startsWith("MINIPOLY\n"));
+            assertTrue(welcome.contains("It is now [P1]'s turn."));
+
+            out.write("3 1\n".getBytes(StandardCharsets.UTF_8));
+            String result = readReply(in);
+            assertTrue(result.startsWith("[P1] rolls 1\nMoving from Posn 1 to Posn 2\n"));
+            assertTrue(result.contains("2 buy"));
+
+            out.write("2\n".getBytes(StandardCharsets.UTF_8));
+            result = readReply(in);
+            assertTrue(result.startsWith("A1 has been bought by [P1] for £50.00\n"));
+            assertEquals(1, server.getSessionCount());
+
+            out.write("9\n0\n".getBytes(StandardCharsets.UTF_8));
+            assertTrue(readReply(in).startsWith("Please enter a valid input.\n"));
+            assertEquals("GAME OVER\n", readReply(in));
+            assertNull(readReply(in));
+            System.out.println("\nResult:\n" + result);
+        }
+    }
+}